@@ -0,0 +1,143 @@
+package com.szhorvath;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * The AsyncMatrixOperations class runs the heavy matrix operations on an executor and returns their results as
+ * futures.
+ * At most a fixed number of operations run at a time: submitting another one blocks the caller until a running one
+ * finishes. Cancelling a future also stops the running kernel at its next checkpoint, freeing the worker thread.
+ * The operand matrices must not be modified until the returned future completes.
+ */
+public class AsyncMatrixOperations {
+    private final Executor executor;
+    private final Semaphore permits;
+
+    /**
+     * Empty constructor. Runs the operations on the common fork-join pool, at most one per available processor at a
+     * time.
+     */
+    public AsyncMatrixOperations() {
+        this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param executor Executor to run the operations on.
+     * @param maxConcurrentOperations Number of operations allowed to be submitted but unfinished at a time.
+     */
+    public AsyncMatrixOperations(Executor executor, int maxConcurrentOperations) {
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrentOperations);
+    }
+
+    /**
+     * Creates an executor which starts a virtual thread per task when the runtime supports them (Java 21 or newer), and
+     * otherwise one which reuses daemon platform threads.
+     * @return Returns a new executor service, which the caller has to shut down.
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "matrix-operation");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * @return Returns how many more operations can be submitted without blocking.
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public CompletableFuture<Matrix> multiplyMatrix(Matrix a, Matrix b) {
+        return submit(() -> a.multiplyMatrix(b));
+    }
+
+    public CompletableFuture<Matrix> multiplyChain(Matrix... matrices) {
+        return submit(() -> Matrix.multiplyChain(matrices));
+    }
+
+    public CompletableFuture<Matrix> power(Matrix m, int exponent) {
+        return submit(() -> m.power(exponent));
+    }
+
+    public CompletableFuture<Double> determinant(Matrix m) {
+        return submit(m::determinant);
+    }
+
+    public CompletableFuture<Matrix> inverse(Matrix m) {
+        return submit(m::inverse);
+    }
+
+    public CompletableFuture<Matrix> choleskyDecomposition(Matrix m) {
+        return submit(m::choleskyDecomposition);
+    }
+
+    public CompletableFuture<Vector> solveLeastSquares(Matrix m, Vector b) {
+        return submit(() -> m.solveLeastSquares(b));
+    }
+
+    /**
+     * Runs an arbitrary operation under the same concurrency limit and cancellation support as the built-in ones.
+     * Blocks until the operation can be submitted.
+     * @param operation Operation to run.
+     * @return Returns a future which completes with the operation's result or exception. Cancelling it makes the
+     * kernels throw MatrixCancellationException at their next checkpoint.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        Cancellation cancellation = new Cancellation();
+        CompletableFuture<T> future = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                cancellation.cancel();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    if (cancellation.isCancelled()) {
+                        return;
+                    }
+                    cancellation.attach();
+                    try {
+                        future.complete(operation.get());
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    } finally {
+                        cancellation.detach();
+                    }
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+}
@@ -0,0 +1,256 @@
+package com.szhorvath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The Autotuner class measures the kernel parameters which suit the host best: the tile size of the matrix
+ * multiplication kernel, the operation count from which splitting a multiplication across the cores pays off, and the
+ * panel width of the blocked QR decomposition.
+ * Calibration takes a few seconds, so the measured parameters are persisted in a profile together with a signature of
+ * the host. The profile is reused on later startups as long as the signature matches, and measured again otherwise.
+ */
+public class Autotuner {
+    private static final int[] MULTIPLY_BLOCK_SIZES = {32, 64, 128, 256};
+    private static final int[] QR_BLOCK_SIZES = {8, 16, 32, 64};
+    private static final int[] CROSSOVER_SIZES = {32, 48, 64, 96, 128, 192, 256};
+    private static final int REPETITIONS = 3;
+
+    private static final String MULTIPLY_BLOCK_SIZE = "multiplyBlockSize";
+    private static final String PARALLEL_THRESHOLD = "parallelThreshold";
+    private static final String QR_BLOCK_SIZE = "qrBlockSize";
+    private static final String HOST = "host";
+
+    private final int multiplySize;
+    private final int qrRowCount;
+    private final int qrColumnCount;
+    private final int maxCrossoverSize;
+
+    /**
+     * Constructor for a full calibration, which multiplies 384x384 matrices and decomposes 1024x128 ones.
+     */
+    public Autotuner() {
+        this(384, 1024, 128, 256);
+    }
+
+    /**
+     * Constructor for a calibration on different problem sizes, mostly to keep tests short.
+     */
+    Autotuner(int multiplySize, int qrRowCount, int qrColumnCount, int maxCrossoverSize) {
+        this.multiplySize = multiplySize;
+        this.qrRowCount = qrRowCount;
+        this.qrColumnCount = qrColumnCount;
+        this.maxCrossoverSize = maxCrossoverSize;
+    }
+
+    /**
+     * @return Returns the default location of the profile, in the .matrix-operations directory of the user's home.
+     */
+    public static Path defaultProfile() {
+        return Paths.get(System.getProperty("user.home"), ".matrix-operations", "kernel-profile.properties");
+    }
+
+    /**
+     * Loads the profile from the default location, calibrating and storing a new one if it's missing or was measured on
+     * a different host, and makes the parameters current.
+     * @return Returns the parameters now in use.
+     */
+    public KernelParameters loadOrCalibrate() {
+        return loadOrCalibrate(defaultProfile());
+    }
+
+    /**
+     * Loads the given profile, calibrating and storing a new one if it's missing, unreadable or was measured on a
+     * different host, and makes the parameters current. Failing to store the profile isn't an error, the parameters are
+     * used anyway.
+     * @param profile Path of the profile.
+     * @return Returns the parameters now in use.
+     */
+    public KernelParameters loadOrCalibrate(Path profile) {
+        KernelParameters parameters = load(profile);
+        if (parameters == null) {
+            parameters = calibrate();
+            try {
+                store(profile, parameters);
+            } catch (IOException e) {
+                // The profile is only a cache of the measurement.
+            }
+        }
+        KernelParameters.setCurrent(parameters);
+
+        return parameters;
+    }
+
+    /**
+     * Measures the parameters on this host. The current parameters aren't changed.
+     * @return Returns the measured parameters.
+     */
+    public KernelParameters calibrate() {
+        KernelParameters defaults = KernelParameters.defaults();
+        int multiplyBlockSize = calibrateMultiplyBlockSize();
+        long parallelThreshold = calibrateParallelThreshold(multiplyBlockSize);
+        int qrBlockSize = calibrateQrBlockSize();
+
+        return new KernelParameters(multiplyBlockSize, parallelThreshold, qrBlockSize > 0 ? qrBlockSize :
+                defaults.getQrBlockSize());
+    }
+
+    /**
+     * Reads a profile.
+     * @param profile Path of the profile.
+     * @return Returns the parameters in the profile, or null if it's missing, unreadable or was measured on a different
+     * host.
+     */
+    public static KernelParameters load(Path profile) {
+        if (!Files.isRegularFile(profile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(profile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!hostSignature().equals(properties.getProperty(HOST))) {
+            return null;
+        }
+        try {
+            return new KernelParameters(Integer.parseInt(properties.getProperty(MULTIPLY_BLOCK_SIZE)),
+                    Long.parseLong(properties.getProperty(PARALLEL_THRESHOLD)),
+                    Integer.parseInt(properties.getProperty(QR_BLOCK_SIZE)));
+        } catch (IllegalArgumentException e) {  // Also covers NumberFormatException.
+            return null;
+        }
+    }
+
+    /**
+     * Writes a profile for this host, creating its directory if needed.
+     * @param profile Path of the profile.
+     * @param parameters Parameters to store.
+     * @throws IOException Throws IOException if the profile can't be written.
+     */
+    public static void store(Path profile, KernelParameters parameters) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(HOST, hostSignature());
+        properties.setProperty(MULTIPLY_BLOCK_SIZE, Integer.toString(parameters.getMultiplyBlockSize()));
+        properties.setProperty(PARALLEL_THRESHOLD, Long.toString(parameters.getParallelThreshold()));
+        properties.setProperty(QR_BLOCK_SIZE, Integer.toString(parameters.getQrBlockSize()));
+        Path directory = profile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        try (OutputStream out = Files.newOutputStream(profile)) {
+            properties.store(out, "Kernel parameters measured by Autotuner");
+        }
+    }
+
+    /**
+     * @return Returns the properties of the host the parameters depend on: architecture, core count and JVM.
+     */
+    static String hostSignature() {
+        return System.getProperty("os.arch") + "/" + Runtime.getRuntime().availableProcessors() + "/" +
+                System.getProperty("java.vm.name") + "/" + System.getProperty("java.version");
+    }
+
+    private int calibrateMultiplyBlockSize() {
+        double[][] a = randomArray(multiplySize, multiplySize);
+        double[][] b = randomArray(multiplySize, multiplySize);
+        double[][] c = new double[multiplySize][multiplySize];
+        int best = KernelParameters.defaults().getMultiplyBlockSize();
+        long bestTime = Long.MAX_VALUE;
+        for (int blockSize : MULTIPLY_BLOCK_SIZES) {
+            KernelParameters parameters = new KernelParameters(blockSize, Long.MAX_VALUE, 1);
+            long time = bestOf(() -> DenseKernels.multiply(a, b, c, parameters));
+            if (time < bestTime) {
+                bestTime = time;
+                best = blockSize;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Finds the smallest size from which the parallel kernel beats the sequential one, and keeps beating it on every
+     * larger size measured.
+     */
+    private long calibrateParallelThreshold(int multiplyBlockSize) {
+        if (Runtime.getRuntime().availableProcessors() < 2) {
+            return Long.MAX_VALUE;
+        }
+        KernelParameters sequential = new KernelParameters(multiplyBlockSize, Long.MAX_VALUE, 1);
+        long threshold = Long.MAX_VALUE;
+        for (int i = CROSSOVER_SIZES.length - 1; i >= 0; --i) {
+            int n = CROSSOVER_SIZES[i];
+            if (n > maxCrossoverSize) {
+                continue;
+            }
+            int blockSize = Math.min(multiplyBlockSize, Math.max(8, n / 4));  // At least a few row blocks to split.
+            KernelParameters parallel = new KernelParameters(blockSize, 0, 1);
+            KernelParameters tiled = new KernelParameters(blockSize, Long.MAX_VALUE, 1);
+            double[][] a = randomArray(n, n);
+            double[][] b = randomArray(n, n);
+            double[][] c = new double[n][n];
+            long sequentialTime = Math.min(bestOf(() -> DenseKernels.multiply(a, b, c, sequential)),
+                    bestOf(() -> DenseKernels.multiply(a, b, c, tiled)));
+            long parallelTime = bestOf(() -> DenseKernels.multiply(a, b, c, parallel));
+            if (parallelTime >= sequentialTime) {
+                break;
+            }
+            threshold = (long) n * n * n;
+        }
+
+        return threshold;
+    }
+
+    private int calibrateQrBlockSize() {
+        double[][] a = randomArray(qrRowCount, qrColumnCount);
+        int best = 0;
+        long bestTime = Long.MAX_VALUE;
+        for (int blockSize : QR_BLOCK_SIZES) {
+            if (blockSize > qrColumnCount) {
+                break;
+            }
+            long time = bestOf(() -> new QRDecomposition(DenseKernels.copy(a), blockSize));
+            if (time < bestTime) {
+                bestTime = time;
+                best = blockSize;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Runs the task once to warm up, then returns its fastest time out of a few runs in nanoseconds.
+     */
+    private static long bestOf(Runnable task) {
+        task.run();
+        long result = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS; ++i) {
+            long start = System.nanoTime();
+            task.run();
+            result = Math.min(result, System.nanoTime() - start);
+        }
+
+        return result;
+    }
+
+    private static double[][] randomArray(int rowCount, int columnCount) {
+        Random random = new Random(rowCount * 31L + columnCount);
+        double[][] result = new double[rowCount][columnCount];
+        for (double[] row : result) {
+            for (int j = 0; j < columnCount; ++j) {
+                row[j] = random.nextDouble() - 0.5;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package com.szhorvath;
+
+/**
+ * Cancellation flag of a running matrix operation. The long-running kernels call checkpoint() between rows, columns or
+ * recursion steps, which throws once the operation running on the current thread has been cancelled. Outside of an
+ * asynchronous operation checkpoint() does nothing.
+ */
+final class Cancellation {
+    private static final ThreadLocal<Cancellation> CURRENT = new ThreadLocal<>();
+
+    private volatile boolean cancelled;
+
+    /**
+     * @throws MatrixCancellationException Throws MatrixCancellationException if the operation running on the current
+     * thread has been cancelled.
+     */
+    static void checkpoint() throws MatrixCancellationException {
+        checkpoint(CURRENT.get());
+    }
+
+    /**
+     * Variant for kernels which fan out to other threads: they capture current() on the calling thread, and check it
+     * from the worker threads.
+     * @param cancellation Flag to check, or null.
+     * @throws MatrixCancellationException Throws MatrixCancellationException if the given flag has been cancelled.
+     */
+    static void checkpoint(Cancellation cancellation) throws MatrixCancellationException {
+        if (cancellation != null && cancellation.cancelled) {
+            throw new MatrixCancellationException("Matrix operation cancelled.");
+        }
+    }
+
+    /**
+     * @return Returns the flag bound to the current thread, or null outside of an asynchronous operation.
+     */
+    static Cancellation current() {
+        return CURRENT.get();
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Binds this flag to the current thread until detach() is called.
+     */
+    void attach() {
+        CURRENT.set(this);
+    }
+
+    void detach() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,195 @@
+package com.szhorvath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The CholeskyFactor class keeps the Cholesky factor L of a symmetric positive definite matrix A = L * LT, and keeps it
+ * current while A changes, without refactoring it.
+ * Rank-1 updates and downdates, appending a new row and column, and removing a row and column all run in O(N^2).
+ * Only the lower triangle of L is stored, row by row.
+ */
+public class CholeskyFactor {
+    private final List<double[]> rows;
+
+    /**
+     * Empty constructor. Initializes the object with the factor of an empty matrix, which can be grown with append().
+     */
+    public CholeskyFactor() {
+        rows = new ArrayList<>();
+    }
+
+    /**
+     * Constructor to factor the given matrix.
+     * @param m Symmetric positive definite matrix to factor.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix is non-symmetrical, or isn't
+     * positive definite.
+     */
+    public CholeskyFactor(Matrix m) throws MatrixOperationException {
+        rows = new ArrayList<>();
+        double[][] l = m.choleskyDecomposition().toArray();
+        for (int i = 0; i < l.length; ++i) {
+            double[] row = new double[i + 1];
+            System.arraycopy(l[i], 0, row, 0, i + 1);
+            rows.add(row);
+        }
+    }
+
+    public int getSize() {
+        return rows.size();
+    }
+
+    /**
+     * @return Returns a new matrix which is L in the following formula: A = L * LT.
+     */
+    public Matrix getL() {
+        int n = rows.size();
+        double[][] result = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            System.arraycopy(rows.get(i), 0, result[i], 0, i + 1);
+        }
+
+        return Matrix.fromArray(result);
+    }
+
+    /**
+     * Rank-1 update. Replaces the factored matrix A with A + x * xT.
+     * @param x Vector of the update, of size N.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector's size isn't N.
+     */
+    public void update(Vector x) throws VectorSizeMismatchException {
+        if (x.getSize() != rows.size()) {
+            throw new VectorSizeMismatchException("Cholesky update with different sized vector.");
+        }
+        rotate(rows, 0, x.toArray(), 1.0);
+    }
+
+    /**
+     * Rank-1 downdate. Replaces the factored matrix A with A - x * xT. The factor is left untouched if the result
+     * wouldn't be positive definite.
+     * @param x Vector of the downdate, of size N.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector's size isn't N.
+     * @throws MatrixOperationException Throws MatrixOperationException if A - x * xT isn't positive definite.
+     */
+    public void downdate(Vector x) throws MatrixException, VectorSizeMismatchException {
+        if (x.getSize() != rows.size()) {
+            throw new VectorSizeMismatchException("Cholesky downdate with different sized vector.");
+        }
+        List<double[]> work = new ArrayList<>(rows.size());
+        for (double[] row : rows) {
+            work.add(row.clone());
+        }
+        rotate(work, 0, x.toArray(), -1.0);
+        for (int i = 0; i < work.size(); ++i) {
+            rows.set(i, work.get(i));
+        }
+    }
+
+    /**
+     * Appends a new last row and column to the factored matrix A.
+     * @param column The new column of A, of size N + 1. Its last value is the new diagonal element.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector's size isn't N + 1.
+     * @throws MatrixOperationException Throws MatrixOperationException if the extended matrix isn't positive definite.
+     */
+    public void append(Vector column) throws MatrixException, VectorSizeMismatchException {
+        int n = rows.size();
+        if (column.getSize() != n + 1) {
+            throw new VectorSizeMismatchException("Cholesky append with different sized vector.");
+        }
+        double[] row = column.toArray();
+        double sumOfSquares = 0.0;
+        for (int i = 0; i < n; ++i) {  // Forward substitution: L * y = a, where a is the new column without its
+            double[] lRow = rows.get(i);  // diagonal element.
+            double sum = row[i];
+            for (int k = 0; k < i; ++k) {
+                sum -= lRow[k] * row[k];
+            }
+            row[i] = sum / lRow[i];
+            sumOfSquares += row[i] * row[i];
+        }
+        double diagonal = row[n] - sumOfSquares;
+        if (!(diagonal > 0.0)) {
+            throw new MatrixOperationException("Cholesky append producing a non-positive definite matrix.");
+        }
+        row[n] = Math.sqrt(diagonal);
+        rows.add(row);
+    }
+
+    /**
+     * Removes a row and the matching column from the factored matrix A.
+     * @param index Index of the row and column to remove.
+     * @throws IndexOutOfBoundsException Throws IndexOutOfBoundsException if the index is outside of the matrix.
+     */
+    public void remove(int index) {
+        rows.remove(index);
+        int n = rows.size();
+        double[] x = new double[n];  // The removed column of L below the diagonal is folded back into the trailing
+        for (int i = index; i < n; ++i) {  // block with a rank-1 update.
+            double[] row = rows.get(i);
+            x[i] = row[index];
+            double[] shortened = new double[i + 1];
+            System.arraycopy(row, 0, shortened, 0, index);
+            System.arraycopy(row, index + 1, shortened, index, i + 1 - index);
+            rows.set(i, shortened);
+        }
+        rotate(rows, index, x, 1.0);
+    }
+
+    /**
+     * Solves A * x = b with one forward and one backward substitution.
+     * @param b Right-hand side, of size N.
+     * @return Returns a new vector which is the solution x.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector's size isn't N.
+     */
+    public Vector solve(Vector b) throws VectorSizeMismatchException {
+        int n = rows.size();
+        if (b.getSize() != n) {
+            throw new VectorSizeMismatchException("Cholesky solve with different sized vector.");
+        }
+        double[] x = b.toArray();
+        for (int i = 0; i < n; ++i) {
+            double[] row = rows.get(i);
+            double sum = x[i];
+            for (int k = 0; k < i; ++k) {
+                sum -= row[k] * x[k];
+            }
+            x[i] = sum / row[i];
+        }
+        for (int i = n - 1; i >= 0; --i) {
+            x[i] /= rows.get(i)[i];
+            double xi = x[i];
+            double[] row = rows.get(i);
+            for (int k = 0; k < i; ++k) {
+                x[k] -= row[k] * xi;
+            }
+        }
+
+        return Vector.fromArray(x);
+    }
+
+    /**
+     * Applies the hyperbolic (sign -1) or ordinary (sign 1) rotations of a rank-1 downdate or update to the columns of
+     * the factor starting at the given index. The vector x is overwritten.
+     */
+    private static void rotate(List<double[]> rows, int start, double[] x, double sign)
+            throws MatrixOperationException {
+        int n = rows.size();
+        for (int k = start; k < n; ++k) {
+            double[] rowK = rows.get(k);
+            double lkk = rowK[k];
+            double squared = lkk * lkk + sign * x[k] * x[k];
+            if (!(squared > 0.0)) {
+                throw new MatrixOperationException("Cholesky downdate producing a non-positive definite matrix.");
+            }
+            double r = Math.sqrt(squared);
+            double c = r / lkk;
+            double s = x[k] / lkk;
+            rowK[k] = r;
+            for (int i = k + 1; i < n; ++i) {
+                double[] row = rows.get(i);
+                row[k] = (row[k] + sign * s * x[i]) / c;
+                x[i] = c * x[i] - s * row[k];
+            }
+        }
+    }
+}
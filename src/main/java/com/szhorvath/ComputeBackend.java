@@ -0,0 +1,124 @@
+package com.szhorvath;
+
+/**
+ * The ComputeBackend interface is the service provider interface of the kernel primitives the matrix operations are
+ * built on, so a kernel tuned for particular hardware can replace the pure Java one without changing the callers.
+ * Providers are discovered with java.util.ServiceLoader: a provider jar lists its implementation in
+ * META-INF/services/com.szhorvath.ComputeBackend, and ComputeBackends picks the one to use.
+ * Matrices are passed as row-major double[][] arrays, vectors as double[] arrays. The callers check the dimensions
+ * before calling, so implementations may assume they match. Every provider has to pass the conformance tests in
+ * ComputeBackendConformanceTest, which are published in the test-jar.
+ * The symmetric kernels have default implementations running the pure Java ones, so a provider only overrides those it
+ * has a tuned kernel for.
+ */
+public interface ComputeBackend {
+
+    /**
+     * @return Returns the name the backend is selected by, e.g. with the com.szhorvath.backend system property.
+     */
+    String getName();
+
+    /**
+     * @return Returns the backend's priority. Without an explicit selection the available backend with the highest
+     * priority is used. The pure Java backend has priority 0.
+     */
+    int getPriority();
+
+    /**
+     * General matrix multiplication, c = alpha * a * b + beta * c. If beta is zero, c's previous contents are ignored,
+     * even if they are NaN.
+     * @param alpha Scale of the product.
+     * @param a Left operand, NxM.
+     * @param b Right operand, MxB.
+     * @param beta Scale of c's previous contents.
+     * @param c Output, NxB. Must not be the same array as a or b.
+     */
+    void gemm(double alpha, double[][] a, double[][] b, double beta, double[][] c);
+
+    /**
+     * General matrix-vector multiplication, y = alpha * a * x + beta * y. If beta is zero, y's previous contents are
+     * ignored, even if they are NaN.
+     * @param alpha Scale of the product.
+     * @param a Matrix, NxM.
+     * @param x Vector of size M.
+     * @param beta Scale of y's previous contents.
+     * @param y Output of size N. Must not be the same array as x.
+     */
+    void gemv(double alpha, double[][] a, double[] x, double beta, double[] y);
+
+    /**
+     * Computes y = alpha * x + y.
+     */
+    void axpy(double alpha, double[] x, double[] y);
+
+    /**
+     * @return Returns the dot product of x and y.
+     */
+    double dot(double[] x, double[] y);
+
+    /**
+     * LU decomposition with partial pivoting, in place: afterwards the strict lower triangle of a holds L (with an
+     * implicit unit diagonal) and the upper triangle holds U, so that P * A = L * U.
+     * @param a Square array to decompose. It is overwritten.
+     * @param pivots Output of the same size as a: row i of P * A is row pivots[i] of A.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix is singular.
+     */
+    void luDecompose(double[][] a, int[] pivots) throws MatrixOperationException;
+
+    /**
+     * Solves A * x = b with an LU decomposition produced by luDecompose().
+     * @param lu Decomposed array.
+     * @param pivots Row permutation produced by luDecompose().
+     * @param b Right-hand side. Left untouched.
+     * @return Returns a new array holding x.
+     */
+    double[] luSolve(double[][] lu, int[] pivots, double[] b);
+
+    /**
+     * Cholesky decomposition, in place: afterwards the lower triangle of a holds L, so that A = L * LT, and the strict
+     * upper triangle is zero. Only the lower triangle of A is read.
+     * @param a Symmetric square array to decompose. It is overwritten.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix isn't positive definite.
+     */
+    void choleskyDecompose(double[][] a) throws MatrixOperationException;
+
+    /**
+     * Thin QR decomposition, A = Q * R.
+     * @param a Array to decompose, NxM with N >= M. Left untouched.
+     * @param q Output, NxM, receiving Q with orthonormal columns.
+     * @param r Output, MxM, receiving the upper triangular R.
+     */
+    void qrDecompose(double[][] a, double[][] q, double[][] r);
+
+    /**
+     * Symmetric rank-k product, AT * A.
+     * @param a Array, NxM.
+     * @return Returns a new array of size M * (M + 1) / 2 holding the lower triangle of the MxM product, packed row by
+     * row: element (i, j) with j <= i is at index i * (i + 1) / 2 + j.
+     */
+    default double[] transposeMultiplySelf(double[][] a) {
+        return DenseKernels.transposeMultiplySelf(a);
+    }
+
+    /**
+     * Symmetric rank-k product, A * AT.
+     * @param a Array, NxM.
+     * @return Returns a new array of size N * (N + 1) / 2 holding the lower triangle of the NxN product, packed the
+     * same way as transposeMultiplySelf().
+     */
+    default double[] multiplySelfTranspose(double[][] a) {
+        return DenseKernels.multiplySelfTranspose(a);
+    }
+
+    /**
+     * Eigen decomposition of a symmetric matrix, A = V * D * VT, computing the eigenpairs with the largest eigenvalues.
+     * @param a Symmetric square array, NxN. Only its lower triangle is read. It is overwritten.
+     * @param values Output of size K, between 1 and N, receiving the K largest eigenvalues in decreasing order.
+     * @param vectors Output, NxK, receiving the corresponding orthonormal eigenvectors as columns.
+     * @throws MatrixOperationException Throws MatrixOperationException if the iteration doesn't converge.
+     */
+    default void symmetricEigenDecompose(double[][] a, double[] values, double[][] vectors)
+            throws MatrixOperationException {
+        SymmetricEigenDecomposition.decompose(a, values, vectors);
+    }
+}
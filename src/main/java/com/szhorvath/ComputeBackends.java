@@ -0,0 +1,164 @@
+package com.szhorvath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * The ComputeBackends class selects the compute backend the matrix operations run on.
+ * The backends are discovered with ServiceLoader on first use. If the com.szhorvath.backend system property names
+ * one of them, that one is used; otherwise the one with the highest priority, which is the pure Java backend unless a
+ * provider with a higher priority is on the class path. Providers which fail to load are skipped.
+ */
+public final class ComputeBackends {
+    public static final String PROPERTY = "com.szhorvath.backend";
+
+    private static volatile ComputeBackend current;
+
+    private ComputeBackends() {
+    }
+
+    /**
+     * @return Returns the backend in use, selecting it on first call.
+     * @throws IllegalStateException Throws IllegalStateException if the system property names an unknown backend.
+     */
+    public static ComputeBackend get() {
+        ComputeBackend result = current;
+        if (result == null) {
+            synchronized (ComputeBackends.class) {
+                result = current;
+                if (result == null) {
+                    result = select(System.getProperty(PROPERTY));
+                    current = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Replaces the backend in use. Operations already running keep the old one.
+     * @param backend New backend, or null to select one again on next use.
+     */
+    public static void set(ComputeBackend backend) {
+        current = backend;
+    }
+
+    /**
+     * @return Returns a new list of every backend ServiceLoader finds, the pure Java one included.
+     */
+    public static List<ComputeBackend> available() {
+        List<ComputeBackend> result = new ArrayList<>();
+        boolean hasJava = false;
+        Iterator<ComputeBackend> providers = ServiceLoader.load(ComputeBackend.class,
+                ComputeBackends.class.getClassLoader()).iterator();
+        while (hasNext(providers)) {
+            try {
+                ComputeBackend backend = providers.next();
+                hasJava |= backend instanceof JavaComputeBackend;
+                result.add(backend);
+            } catch (ServiceConfigurationError e) {
+                // A provider which can't be instantiated is skipped, so it doesn't take the others down with it.
+            }
+        }
+        if (!hasJava) {
+            result.add(new JavaComputeBackend());
+        }
+
+        return result;
+    }
+
+    /**
+     * Selects a backend among the available ones.
+     * @param name Name of the backend to select, or null to select the one with the highest priority.
+     * @return Returns the selected backend.
+     * @throws IllegalStateException Throws IllegalStateException if no available backend has the given name.
+     */
+    public static ComputeBackend select(String name) {
+        List<ComputeBackend> backends = available();
+        if (name == null || name.isEmpty()) {
+            return Collections.max(backends, (x, y) -> Integer.compare(x.getPriority(), y.getPriority()));
+        }
+        for (ComputeBackend backend : backends) {
+            if (backend.getName().equals(name)) {
+                return backend;
+            }
+        }
+
+        throw new IllegalStateException("Unknown compute backend: " + name + ".");
+    }
+
+    /**
+     * Computes a determinant from the backend's LU decomposition, as the product of U's diagonal, negated if the row
+     * permutation is odd.
+     * @param backend Backend to decompose with.
+     * @param a Square array. Left untouched.
+     * @return Returns the determinant, zero if the matrix is singular.
+     */
+    static double determinant(ComputeBackend backend, double[][] a) {
+        int n = a.length;
+        double[][] lu = DenseKernels.copy(a);
+        int[] pivots = new int[n];
+        try {
+            backend.luDecompose(lu, pivots);
+        } catch (MatrixOperationException e) {  // Zero pivot: the matrix is singular.
+            return 0.0;
+        }
+        double result = 1.0;
+        boolean[] visited = new boolean[n];
+        for (int i = 0; i < n; ++i) {
+            result *= lu[i][i];
+            if (!visited[i]) {  // A cycle of length L is L - 1 transpositions.
+                for (int j = pivots[i]; j != i; j = pivots[j]) {
+                    visited[j] = true;
+                    result = -result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Inverts a square matrix with the backend's LU decomposition, solving for each column of the identity.
+     * @param backend Backend to decompose and solve with.
+     * @param a Square array to invert. Left untouched.
+     * @return Returns a new array holding the inverse.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix is singular.
+     */
+    static double[][] invert(ComputeBackend backend, double[][] a) throws MatrixOperationException {
+        int n = a.length;
+        double[][] lu = DenseKernels.copy(a);
+        int[] pivots = new int[n];
+        backend.luDecompose(lu, pivots);
+        double[][] result = new double[n][n];
+        double[] unit = new double[n];
+        for (int j = 0; j < n; ++j) {
+            Cancellation.checkpoint();
+            unit[j] = 1.0;
+            double[] column = backend.luSolve(lu, pivots, unit);
+            unit[j] = 0.0;
+            for (int i = 0; i < n; ++i) {
+                result[i][j] = column[i];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Stops the discovery at a malformed provider configuration file, which some ServiceLoader versions would report
+     * again on every call.
+     */
+    private static boolean hasNext(Iterator<ComputeBackend> providers) {
+        try {
+            return providers.hasNext();
+        } catch (ServiceConfigurationError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.szhorvath;
+
+/**
+ * The ConjugateGradient class solves A * x = b for symmetric positive definite operators with the (preconditioned)
+ * conjugate gradient method. The preconditioner has to be symmetric positive definite as well.
+ * Every iteration takes one operator application and keeps only four vectors in memory.
+ */
+public class ConjugateGradient extends IterativeSolver {
+
+    @Override
+    protected void solve(LinearOperator a, double[] b, double[] x) throws MatrixOperationException {
+        int n = b.length;
+        double target = getTolerance() * norm(b);
+        double[] r = new double[n];
+        double[] z = new double[n];
+        double[] p = new double[n];
+        double[] ap = new double[n];
+        residual(a, b, x, r);
+        double residualNorm = norm(r);
+        recordResidual(residualNorm);
+        if (residualNorm <= target) {
+            return;
+        }
+        precondition(r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rz = dot(r, z);
+
+        for (int iteration = 1; iteration <= getMaxIterations(); ++iteration) {
+            a.apply(p, ap);
+            double curvature = dot(p, ap);
+            if (!(curvature > 0.0)) {
+                throw new MatrixOperationException("Conjugate gradient on non-positive definite operator.");
+            }
+            double alpha = rz / curvature;
+            ComputeBackend backend = ComputeBackends.get();
+            backend.axpy(alpha, p, x);
+            backend.axpy(-alpha, ap, r);
+            residualNorm = norm(r);
+            iterated(iteration, residualNorm);
+            if (residualNorm <= target) {
+                return;
+            }
+
+            precondition(r, z);
+            double rzNext = dot(r, z);
+            double beta = rzNext / rz;
+            rz = rzNext;
+            for (int i = 0; i < n; ++i) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+
+        throw new MatrixOperationException("Conjugate gradient did not converge within the iteration limit.");
+    }
+}
@@ -0,0 +1,184 @@
+package com.szhorvath;
+
+/**
+ * The CovarianceAccumulator class computes the mean and covariance of a stream of rows without keeping the rows, so the
+ * stream doesn't have to fit in memory. It keeps the running mean and the co-moment, the sum of the outer products of
+ * the rows' deviations from the mean, packed like a PackedSymmetricMatrix. Single rows are added with Welford's update,
+ * batches and other accumulators are merged with Chan's formula, both of which avoid the cancellation of summing the
+ * raw products. Shards of a stream can be accumulated in parallel, each into its own accumulator, and merged.
+ * Instances are not thread-safe.
+ */
+public class CovarianceAccumulator {
+    private final int dimension;
+    private final double[] mean;
+    private final double[] comoment;
+    private long count;
+
+    /**
+     * @param dimension Size of the rows to accumulate.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if the dimension isn't positive.
+     */
+    public CovarianceAccumulator(int dimension) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException("Covariance of non-positive dimension.");
+        }
+        this.dimension = dimension;
+        this.mean = new double[dimension];
+        this.comoment = new double[(int) ((long) dimension * (dimension + 1) / 2)];
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * @return Returns the number of rows accumulated so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Adds a single row. Takes O(M^2) for rows of size M.
+     * @param row Row to add.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the row's size isn't the dimension.
+     */
+    public void add(Vector row) throws VectorSizeMismatchException {
+        if (row.getSize() != dimension) {
+            throw new VectorSizeMismatchException("Accumulation of different sized row.");
+        }
+        double[] x = row.toArray();
+        ++count;
+        double[] delta = new double[dimension];
+        for (int i = 0; i < dimension; ++i) {
+            delta[i] = x[i] - mean[i];
+            mean[i] += delta[i] / count;
+        }
+        double scale = (double) (count - 1) / count;
+        int index = 0;
+        for (int i = 0; i < dimension; ++i) {
+            double scaled = scale * delta[i];
+            for (int j = 0; j <= i; ++j) {
+                comoment[index++] += scaled * delta[j];
+            }
+        }
+    }
+
+    /**
+     * Adds a batch of rows. The batch is centered on its own mean and its co-moment is computed with the symmetric
+     * rank-k kernel of Matrix.transposeMultiplySelf(), then merged, which is faster than adding the rows one by one.
+     * @param rows Matrix holding the rows to add.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the rows' size isn't the dimension.
+     */
+    public void add(Matrix rows) throws VectorSizeMismatchException {
+        if (rows.getRowCount() == 0) {
+            return;
+        }
+        if (rows.getColumnCount() != dimension) {
+            throw new VectorSizeMismatchException("Accumulation of different sized row.");
+        }
+        double[][] batch = rows.toArray();
+        double[] batchMean = new double[dimension];
+        for (double[] row : batch) {
+            for (int j = 0; j < dimension; ++j) {
+                batchMean[j] += row[j];
+            }
+        }
+        for (int j = 0; j < dimension; ++j) {
+            batchMean[j] /= batch.length;
+        }
+        for (double[] row : batch) {
+            for (int j = 0; j < dimension; ++j) {
+                row[j] -= batchMean[j];
+            }
+        }
+        merge(batch.length, batchMean, ComputeBackends.get().transposeMultiplySelf(batch));
+    }
+
+    /**
+     * Merges the rows accumulated by another accumulator into this one. The other accumulator is left untouched.
+     * @param other Accumulator to merge.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two dimensions differ.
+     */
+    public void merge(CovarianceAccumulator other) throws VectorSizeMismatchException {
+        if (other.dimension != dimension) {
+            throw new VectorSizeMismatchException("Merge of different sized covariance accumulators.");
+        }
+        merge(other.count, other.mean, other.comoment);
+    }
+
+    private void merge(long otherCount, double[] otherMean, double[] otherComoment) {
+        if (otherCount == 0) {
+            return;
+        }
+        long total = count + otherCount;
+        double weight = (double) otherCount / total;
+        double scale = (double) count * weight;
+        double[] delta = new double[dimension];
+        for (int i = 0; i < dimension; ++i) {
+            delta[i] = otherMean[i] - mean[i];
+            mean[i] += delta[i] * weight;
+        }
+        int index = 0;
+        for (int i = 0; i < dimension; ++i) {
+            double scaled = scale * delta[i];
+            for (int j = 0; j <= i; ++j) {
+                comoment[index] += otherComoment[index] + scaled * delta[j];
+                ++index;
+            }
+        }
+        count = total;
+    }
+
+    /**
+     * @return Returns a new vector holding the mean of the rows accumulated so far.
+     */
+    public Vector getMean() {
+        return Vector.fromArray(mean.clone());
+    }
+
+    /**
+     * Computes the sample covariance of the rows accumulated so far, dividing the co-moment by N - 1.
+     * @return Returns a new, symmetric MxM matrix.
+     * @throws MatrixOperationException Throws MatrixOperationException if fewer than two rows have been accumulated.
+     */
+    public Matrix getCovariance() throws MatrixOperationException {
+        return getCovariancePacked().toMatrix();
+    }
+
+    /**
+     * Same as getCovariance(), keeping the result packed, which takes about half the memory.
+     * @return Returns a new packed, symmetric MxM matrix.
+     * @throws MatrixOperationException Throws MatrixOperationException if fewer than two rows have been accumulated.
+     */
+    public PackedSymmetricMatrix getCovariancePacked() throws MatrixOperationException {
+        if (count < 2) {
+            throw new MatrixOperationException("Covariance of fewer than two rows.");
+        }
+        double[] result = new double[comoment.length];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = comoment[i] / (count - 1);
+        }
+
+        return new PackedSymmetricMatrix(dimension, result);
+    }
+
+    /**
+     * Computes the Gram matrix of the rows accumulated so far, the sum of their outer products (XT * X for the matrix X
+     * of the rows), from the co-moment and the mean.
+     * @return Returns a new, symmetric MxM matrix.
+     */
+    public Matrix getGram() {
+        double[] result = new double[comoment.length];
+        int index = 0;
+        for (int i = 0; i < dimension; ++i) {
+            double scaled = count * mean[i];
+            for (int j = 0; j <= i; ++j) {
+                result[index] = comoment[index] + scaled * mean[j];
+                ++index;
+            }
+        }
+
+        return new PackedSymmetricMatrix(dimension, result).toMatrix();
+    }
+}
@@ -0,0 +1,321 @@
+package com.szhorvath;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Primitive kernels shared by the matrix operations. Every method works on row-major double[][] arrays, so the heavy
+ * loops run without boxing. The callers are responsible for checking dimensions.
+ */
+final class DenseKernels {
+
+    private DenseKernels() {
+    }
+
+    static double[][] identity(int n) {
+        double[][] result = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            result[i][i] = 1.0;
+        }
+
+        return result;
+    }
+
+    static double[][] copy(double[][] a) {
+        double[][] result = new double[a.length][];
+        for (int i = 0; i < a.length; ++i) {
+            result[i] = a[i].clone();
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes a * b into c, overwriting its contents. c must not be the same array as a or b.
+     * The loops are tiled by KernelParameters' block size so the tiles of b and c stay in cache, and the innermost loop
+     * walks both b and c along a row. Every element is still accumulated in increasing order of the inner index, so
+     * the result doesn't depend on the tiling. Above the parallel threshold the row tiles are spread over the cores.
+     * @param a Left operand, NxM.
+     * @param b Right operand, MxB.
+     * @param c Output, NxB.
+     */
+    static void multiply(double[][] a, double[][] b, double[][] c) {
+        multiply(a, b, c, KernelParameters.current());
+    }
+
+    static void multiply(double[][] a, double[][] b, double[][] c, KernelParameters parameters) {
+        multiply(a, b, c, parameters, false);
+    }
+
+    /**
+     * Computes c + a * b into c, accumulating onto its contents in the same order as multiply().
+     */
+    static void multiplyAdd(double[][] a, double[][] b, double[][] c) {
+        multiply(a, b, c, KernelParameters.current(), true);
+    }
+
+    private static void multiply(double[][] a, double[][] b, double[][] c, KernelParameters parameters,
+                                 boolean accumulate) {
+        int n = a.length;
+        int columns = n == 0 ? 0 : c[0].length;
+        int block = parameters.getMultiplyBlockSize();
+        int rowBlocks = (n + block - 1) / block;
+        Cancellation cancellation = Cancellation.current();
+        if ((long) n * b.length * columns >= parameters.getParallelThreshold() && rowBlocks > 1) {
+            IntStream.range(0, rowBlocks).parallel().forEach(rowBlock ->
+                    multiplyRows(a, b, c, rowBlock * block, Math.min(n, (rowBlock + 1) * block), block, accumulate,
+                            cancellation));
+        } else {
+            multiplyRows(a, b, c, 0, n, block, accumulate, cancellation);
+        }
+    }
+
+    private static void multiplyRows(double[][] a, double[][] b, double[][] c, int from, int to, int block,
+                                     boolean accumulate, Cancellation cancellation) {
+        int inner = b.length;
+        int columns = to > from ? c[from].length : 0;
+        for (int i = from; !accumulate && i < to; ++i) {
+            Arrays.fill(c[i], 0.0);
+        }
+        for (int kStart = 0; kStart < inner; kStart += block) {
+            int kEnd = Math.min(inner, kStart + block);
+            for (int jStart = 0; jStart < columns; jStart += block) {
+                int jEnd = Math.min(columns, jStart + block);
+                Cancellation.checkpoint(cancellation);
+                for (int i = from; i < to; ++i) {
+                    double[] aRow = a[i];
+                    double[] cRow = c[i];
+                    for (int k = kStart; k < kEnd; ++k) {
+                        double aik = aRow[k];
+                        double[] bRow = b[k];
+                        for (int j = jStart; j < jEnd; ++j) {
+                            cRow[j] += aik * bRow[j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Symmetric rank-k product AT * A, computing only the lower triangle, so the transpose is never formed. The
+     * triangle is tiled by KernelParameters' block size, and each tile is accumulated in a cache-resident buffer over
+     * every row of A, reading only the two column strips of A the tile needs, so the packed result is written once
+     * instead of being swept by every row. Every element is still accumulated in increasing row order, so the result
+     * doesn't depend on the tiling. Above the parallel threshold the tiles are spread over the cores.
+     * @param a NxM array.
+     * @return Returns a new array holding the lower triangle of the MxM result packed by rows: element (i, j), j <= i,
+     * is at index i * (i + 1) / 2 + j.
+     */
+    static double[] transposeMultiplySelf(double[][] a) {
+        int n = a.length == 0 ? 0 : a[0].length;
+        double[] result = new double[(int) ((long) n * (n + 1) / 2)];
+        KernelParameters parameters = KernelParameters.current();
+        int block = parameters.getMultiplyBlockSize();
+        int blocks = (n + block - 1) / block;
+        int tileCount = blocks * (blocks + 1) / 2;
+        Cancellation cancellation = Cancellation.current();
+        IntConsumer tileTask = tile -> {
+            int rowBlock = (int) ((Math.sqrt(8.0 * tile + 1.0) - 1.0) / 2.0);
+            while ((long) rowBlock * (rowBlock + 1) / 2 > tile) {
+                --rowBlock;
+            }
+            while ((long) (rowBlock + 1) * (rowBlock + 2) / 2 <= tile) {
+                ++rowBlock;
+            }
+            int columnBlock = tile - rowBlock * (rowBlock + 1) / 2;
+            transposeMultiplySelfTile(a, result, rowBlock * block, Math.min(n, (rowBlock + 1) * block),
+                    columnBlock * block, Math.min(n, (columnBlock + 1) * block), block, cancellation);
+        };
+        if ((long) a.length * n * (n + 1) / 2 >= parameters.getParallelThreshold() && tileCount > 1) {
+            IntStream.range(0, tileCount).parallel().forEach(tileTask);
+        } else {
+            for (int tile = 0; tile < tileCount; ++tile) {
+                tileTask.accept(tile);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Accumulates the tile of AT * A with rows [iStart, iEnd) and columns [jStart, jEnd), keeping only its elements on
+     * or below the diagonal, and stores it into the packed result.
+     */
+    private static void transposeMultiplySelfTile(double[][] a, double[] result, int iStart, int iEnd, int jStart,
+                                                  int jEnd, int block, Cancellation cancellation) {
+        Cancellation.checkpoint(cancellation);
+        double[] tile = new double[block * block];
+        boolean diagonal = iStart == jStart;
+        int r = 0;
+        // Four rows of A per sweep of the tile, added left to right, which is the same order as one row at a time.
+        for (; r + 4 <= a.length; r += 4) {
+            double[] row0 = a[r];
+            double[] row1 = a[r + 1];
+            double[] row2 = a[r + 2];
+            double[] row3 = a[r + 3];
+            for (int i = iStart; i < iEnd; ++i) {
+                double value0 = row0[i];
+                double value1 = row1[i];
+                double value2 = row2[i];
+                double value3 = row3[i];
+                int base = (i - iStart) * block - jStart;
+                int end = diagonal ? i + 1 : jEnd;
+                for (int j = jStart; j < end; ++j) {
+                    tile[base + j] = tile[base + j] + value0 * row0[j] + value1 * row1[j] + value2 * row2[j]
+                            + value3 * row3[j];
+                }
+            }
+        }
+        for (; r < a.length; ++r) {
+            double[] row = a[r];
+            for (int i = iStart; i < iEnd; ++i) {
+                double value = row[i];
+                int base = (i - iStart) * block - jStart;
+                int end = diagonal ? i + 1 : jEnd;
+                for (int j = jStart; j < end; ++j) {
+                    tile[base + j] += value * row[j];
+                }
+            }
+        }
+        for (int i = iStart; i < iEnd; ++i) {
+            int end = diagonal ? i + 1 : jEnd;
+            System.arraycopy(tile, (i - iStart) * block, result, (int) ((long) i * (i + 1) / 2) + jStart, end - jStart);
+        }
+    }
+
+    /**
+     * Symmetric rank-k product A * AT, computing only the lower triangle, each element as the dot product of two rows
+     * of A. Parallel above the threshold in the same way as transposeMultiplySelf().
+     * @param a NxM array.
+     * @return Returns a new array holding the lower triangle of the NxN result, packed as by transposeMultiplySelf().
+     */
+    static double[] multiplySelfTranspose(double[][] a) {
+        int n = a.length;
+        int inner = n == 0 ? 0 : a[0].length;
+        double[] result = new double[(int) ((long) n * (n + 1) / 2)];
+        Cancellation cancellation = Cancellation.current();
+        forEachTriangleBand(n, (long) inner * n * (n + 1) / 2, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                Cancellation.checkpoint(cancellation);
+                double[] row = a[i];
+                int base = (int) ((long) i * (i + 1) / 2);
+                for (int j = 0; j <= i; ++j) {
+                    double[] other = a[j];
+                    double sum = 0.0;
+                    for (int k = 0; k < inner; ++k) {
+                        sum += row[k] * other[k];
+                    }
+                    result[base + j] = sum;
+                }
+            }
+        });
+
+        return result;
+    }
+
+    private interface Band {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs the task over bands of rows of an NxN lower triangle. Above the parallel threshold there are several bands
+     * per core, with row boundaries at N * sqrt(t / T) so every band holds about the same number of elements.
+     */
+    private static void forEachTriangleBand(int n, long work, Band task) {
+        int bands = work >= KernelParameters.current().getParallelThreshold() ?
+                Math.min(n, 4 * Runtime.getRuntime().availableProcessors()) : 1;
+        if (bands <= 1) {
+            task.run(0, n);
+            return;
+        }
+        int[] bounds = new int[bands + 1];
+        for (int t = 1; t <= bands; ++t) {
+            bounds[t] = Math.max(bounds[t - 1], (int) Math.round(n * Math.sqrt((double) t / bands)));
+        }
+        bounds[bands] = n;
+        IntStream.range(0, bands).parallel().forEach(t -> task.run(bounds[t], bounds[t + 1]));
+    }
+
+    /**
+     * LU decomposition with partial pivoting, in place: afterwards the strict lower triangle of a holds L (with an
+     * implicit unit diagonal) and the upper triangle holds U, so that P * A = L * U.
+     * @param a Square array to decompose. It is overwritten.
+     * @param pivots Output of the same size as a: row i of P * A is row pivots[i] of A.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix is singular.
+     */
+    static void luDecompose(double[][] a, int[] pivots) throws MatrixOperationException {
+        int n = a.length;
+        for (int i = 0; i < n; ++i) {
+            pivots[i] = i;
+        }
+        for (int col = 0; col < n; ++col) {
+            Cancellation.checkpoint();
+            int pivot = col;
+            for (int i = col + 1; i < n; ++i) {
+                if (Math.abs(a[i][col]) > Math.abs(a[pivot][col])) {
+                    pivot = i;
+                }
+            }
+            if (a[pivot][col] == 0.0) {
+                throw new MatrixOperationException("LU decomposition of singular matrix.");
+            }
+            swapRows(a, col, pivot);
+            int temp = pivots[col];
+            pivots[col] = pivots[pivot];
+            pivots[pivot] = temp;
+
+            double[] pivotRow = a[col];
+            for (int i = col + 1; i < n; ++i) {
+                double[] row = a[i];
+                double factor = row[col] / pivotRow[col];
+                row[col] = factor;
+                if (factor == 0.0) {
+                    continue;
+                }
+                for (int j = col + 1; j < n; ++j) {
+                    row[j] -= factor * pivotRow[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves A * x = b with an LU decomposition produced by luDecompose().
+     * @param lu Decomposed array.
+     * @param pivots Row permutation produced by luDecompose().
+     * @param b Right-hand side. Left untouched.
+     * @return Returns a new array holding x.
+     */
+    static double[] luSolve(double[][] lu, int[] pivots, double[] b) {
+        int n = lu.length;
+        double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            double[] row = lu[i];
+            double sum = b[pivots[i]];
+            for (int j = 0; j < i; ++j) {
+                sum -= row[j] * x[j];
+            }
+            x[i] = sum;
+        }
+        for (int i = n - 1; i >= 0; --i) {
+            double[] row = lu[i];
+            double sum = x[i];
+            for (int j = i + 1; j < n; ++j) {
+                sum -= row[j] * x[j];
+            }
+            x[i] = sum / row[i];
+        }
+
+        return x;
+    }
+
+    private static void swapRows(double[][] a, int i, int j) {
+        if (i != j) {
+            double[] temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        }
+    }
+}
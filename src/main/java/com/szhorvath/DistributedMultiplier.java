@@ -0,0 +1,193 @@
+package com.szhorvath;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The DistributedMultiplier class multiplies matrices on a set of MultiplicationWorkers.
+ * The result is partitioned into a 2D grid of blocks. Each block C(i, j) is one task, which ships the i-th row panel of
+ * the left operand and the j-th column panel of the right operand to a worker. Every worker connection pulls tasks from
+ * a shared queue, so faster workers take more blocks. When a worker fails, the block it was computing goes back to the
+ * queue for the remaining workers, and blocks left over once every worker has failed are computed locally.
+ * The coordinator keeps both operands and the result in memory as primitive arrays, on top of the Matrix objects, so
+ * the work is distributed but the data isn't: the product has to fit in the coordinator's heap. Operands which don't
+ * fit are multiplied from MatrixFiles with OutOfCoreMultiplier instead.
+ */
+public class DistributedMultiplier {
+    private static final int DEFAULT_BLOCK_SIZE = 256;
+    private static final int DEFAULT_TIMEOUT_MILLIS = 60000;
+
+    private final List<InetSocketAddress> workers;
+    private final int blockSize;
+    private int timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+    private final AtomicInteger recomputedBlockCount = new AtomicInteger();
+
+    /**
+     * @param workers Addresses of the workers to use.
+     */
+    public DistributedMultiplier(List<InetSocketAddress> workers) {
+        this(workers, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param workers Addresses of the workers to use.
+     * @param blockSize Number of rows and columns of each result block.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if the block size isn't positive.
+     */
+    public DistributedMultiplier(List<InetSocketAddress> workers, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Distributed multiplication with non-positive block size.");
+        }
+        this.workers = new ArrayList<>(workers);
+        this.blockSize = blockSize;
+    }
+
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @param timeoutMillis Time to wait for a worker to answer before it's considered failed.
+     */
+    public void setTimeoutMillis(int timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return Returns the number of blocks which had to be computed again after a worker failure, over the lifetime
+     * of this object.
+     */
+    public int getRecomputedBlockCount() {
+        return recomputedBlockCount.get();
+    }
+
+    /**
+     * Distributed matrix multiplication. (NxM * MxB)
+     * Holds 8 * (N * M + M * B + N * B) bytes of primitive arrays on the calling machine for the whole call.
+     * @param a Left operand.
+     * @param b Right operand.
+     * @return Returns a new matrix which is the product of the two.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the first matrix's column count isn't
+     * equal to the second matrix's row count.
+     */
+    public Matrix multiply(Matrix a, Matrix b) throws MatrixSizeMismatchException {
+        if (a.getColumnCount() != b.getRowCount()) {
+            throw new MatrixSizeMismatchException("Multiplication of matrices where the first matrix's column count "
+                    + "isn't equal to the second's row count.");
+        }
+        double[][] left = a.toArray();
+        double[][] right = b.toArray();
+        double[][] result = new double[left.length][right[0].length];
+
+        Queue<int[]> tasks = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < left.length; i += blockSize) {
+            for (int j = 0; j < result[0].length; j += blockSize) {
+                tasks.add(new int[] {i, j});
+            }
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (InetSocketAddress worker : workers) {
+            Thread thread = new Thread(() -> serveTasks(worker, tasks, left, right, result), "distributed-multiplier");
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MatrixOperationException("Distributed multiplication interrupted.");
+            }
+        }
+
+        int[] task;
+        while ((task = tasks.poll()) != null) {  // Every worker has failed: finish the remaining blocks locally.
+            Cancellation.checkpoint();
+            double[][] rowPanel = rowPanel(left, task[0]);
+            double[][] columnPanel = columnPanel(right, task[1]);
+            double[][] block = new double[rowPanel.length][columnPanel[0].length];
+            ComputeBackends.get().gemm(1.0, rowPanel, columnPanel, 0.0, block);
+            storeBlock(result, block, task);
+        }
+
+        return Matrix.fromArray(result);
+    }
+
+    /**
+     * Feeds one worker with tasks until the queue is empty. On any failure, unchecked exceptions and errors included,
+     * the task in flight goes back to the queue and the worker is abandoned, so no block is left unwritten.
+     */
+    private void serveTasks(InetSocketAddress worker, Queue<int[]> tasks, double[][] left, double[][] right,
+                            double[][] result) {
+        int[] task = null;
+        try (Socket socket = new Socket()) {
+            socket.connect(worker, timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while ((task = tasks.poll()) != null) {
+                double[][] rowPanel = rowPanel(left, task[0]);
+                double[][] columnPanel = columnPanel(right, task[1]);
+                out.writeInt(MultiplicationWorker.MULTIPLY);
+                out.writeInt(rowPanel.length);
+                out.writeInt(columnPanel.length);
+                out.writeInt(columnPanel[0].length);
+                MultiplicationWorker.writeBlock(out, rowPanel);
+                MultiplicationWorker.writeBlock(out, columnPanel);
+                out.flush();
+                storeBlock(result, MultiplicationWorker.readBlock(in, rowPanel.length, columnPanel[0].length), task);
+                task = null;
+            }
+            out.writeInt(MultiplicationWorker.CLOSE);
+            out.flush();
+        } catch (IOException e) {
+            // Dropped or timed out connection: the worker is abandoned.
+        } finally {
+            if (task != null) {
+                recomputedBlockCount.incrementAndGet();
+                tasks.add(task);
+            }
+        }
+    }
+
+    private double[][] rowPanel(double[][] left, int start) {
+        int end = Math.min(start + blockSize, left.length);
+        double[][] panel = new double[end - start][];
+        for (int i = start; i < end; ++i) {
+            panel[i - start] = left[i];
+        }
+
+        return panel;
+    }
+
+    private double[][] columnPanel(double[][] right, int start) {
+        int end = Math.min(start + blockSize, right[0].length);
+        double[][] panel = new double[right.length][end - start];
+        for (int k = 0; k < right.length; ++k) {
+            System.arraycopy(right[k], start, panel[k], 0, end - start);
+        }
+
+        return panel;
+    }
+
+    /**
+     * Copies a finished block into the result. Blocks never overlap, so no locking is needed.
+     */
+    private static void storeBlock(double[][] result, double[][] block, int[] task) {
+        for (int i = 0; i < block.length; ++i) {
+            System.arraycopy(block[i], 0, result[task[0] + i], task[1], block[i].length);
+        }
+    }
+}
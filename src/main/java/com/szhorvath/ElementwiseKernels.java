@@ -0,0 +1,175 @@
+package com.szhorvath;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Primitive element-wise kernels shared by the matrix and vector operations. Every method works on row-major double[][]
+ * arrays whose rows have the same length; a vector is passed as a single row.
+ * The elements are processed in fixed chunks of consecutive elements, which run in parallel once the number of elements
+ * reaches KernelParameters' parallel threshold. Reductions reduce every chunk from left to right and then combine the
+ * partial results in chunk order, so their result doesn't depend on whether they ran in parallel.
+ */
+final class ElementwiseKernels {
+    static final int CHUNK_SIZE = 4096;
+
+    private ElementwiseKernels() {
+    }
+
+    /**
+     * Computes out[i][j] = operator(a[i][j]). out may be the same array as a.
+     */
+    static void map(double[][] a, double[][] out, DoubleUnaryOperator operator) {
+        int columns = columnCount(a);
+        long count = (long) a.length * columns;
+        Cancellation cancellation = Cancellation.current();
+        forEachChunk(count, chunk -> {
+            Cancellation.checkpoint(cancellation);
+            long start = (long) chunk * CHUNK_SIZE;
+            long end = Math.min(count, start + CHUNK_SIZE);
+            int i = (int) (start / columns);
+            int from = (int) (start % columns);
+            for (long e = start; e < end; ++i, from = 0) {
+                int to = (int) Math.min(columns, from + end - e);
+                double[] row = a[i];
+                double[] outRow = out[i];
+                for (int j = from; j < to; ++j) {
+                    outRow[j] = operator.applyAsDouble(row[j]);
+                }
+                e += to - from;
+            }
+        });
+    }
+
+    /**
+     * Computes out[i][j] = operator(a[i][j], b[i][j]). out may be the same array as a or b.
+     */
+    static void zip(double[][] a, double[][] b, double[][] out, DoubleBinaryOperator operator) {
+        int columns = columnCount(a);
+        long count = (long) a.length * columns;
+        Cancellation cancellation = Cancellation.current();
+        forEachChunk(count, chunk -> {
+            Cancellation.checkpoint(cancellation);
+            long start = (long) chunk * CHUNK_SIZE;
+            long end = Math.min(count, start + CHUNK_SIZE);
+            int i = (int) (start / columns);
+            int from = (int) (start % columns);
+            for (long e = start; e < end; ++i, from = 0) {
+                int to = (int) Math.min(columns, from + end - e);
+                double[] aRow = a[i];
+                double[] bRow = b[i];
+                double[] outRow = out[i];
+                for (int j = from; j < to; ++j) {
+                    outRow[j] = operator.applyAsDouble(aRow[j], bRow[j]);
+                }
+                e += to - from;
+            }
+        });
+    }
+
+    /**
+     * Reduces operator(a[i][j]) over every element with combiner.
+     * @param identity Identity of the combiner, returned for an empty array.
+     */
+    static double reduce(double[][] a, DoubleUnaryOperator operator, double identity, DoubleBinaryOperator combiner) {
+        int columns = columnCount(a);
+        long count = (long) a.length * columns;
+        double[] partials = new double[chunkCount(count)];
+        Cancellation cancellation = Cancellation.current();
+        forEachChunk(count, chunk -> {
+            Cancellation.checkpoint(cancellation);
+            long start = (long) chunk * CHUNK_SIZE;
+            long end = Math.min(count, start + CHUNK_SIZE);
+            int i = (int) (start / columns);
+            int from = (int) (start % columns);
+            double partial = identity;
+            for (long e = start; e < end; ++i, from = 0) {
+                int to = (int) Math.min(columns, from + end - e);
+                double[] row = a[i];
+                for (int j = from; j < to; ++j) {
+                    partial = combiner.applyAsDouble(partial, operator.applyAsDouble(row[j]));
+                }
+                e += to - from;
+            }
+            partials[chunk] = partial;
+        });
+
+        double result = identity;
+        for (double partial : partials) {
+            result = combiner.applyAsDouble(result, partial);
+        }
+
+        return result;
+    }
+
+    /**
+     * Sums operator(a[i][j]) along every row, from left to right.
+     * @return Returns a new array holding the sum of every row.
+     */
+    static double[] rowSums(double[][] a, DoubleUnaryOperator operator) {
+        double[] result = new double[a.length];
+        int columns = columnCount(a);
+        int rowsPerChunk = Math.max(1, CHUNK_SIZE / Math.max(1, columns));
+        Cancellation cancellation = Cancellation.current();
+        forEachChunk((long) a.length * columns, (a.length + rowsPerChunk - 1) / rowsPerChunk, chunk -> {
+            Cancellation.checkpoint(cancellation);
+            int end = Math.min(a.length, (chunk + 1) * rowsPerChunk);
+            for (int i = chunk * rowsPerChunk; i < end; ++i) {
+                double sum = 0.0;
+                for (double value : a[i]) {
+                    sum += operator.applyAsDouble(value);
+                }
+                result[i] = sum;
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Sums operator(a[i][j]) along every column, from top to bottom.
+     * @return Returns a new array holding the sum of every column.
+     */
+    static double[] columnSums(double[][] a, DoubleUnaryOperator operator) {
+        int columns = columnCount(a);
+        double[] result = new double[columns];
+        int columnsPerChunk = Math.max(1, Math.min(columns, CHUNK_SIZE / Math.max(1, a.length)));
+        Cancellation cancellation = Cancellation.current();
+        forEachChunk((long) a.length * columns, (columns + columnsPerChunk - 1) / columnsPerChunk, chunk -> {
+            Cancellation.checkpoint(cancellation);
+            int from = chunk * columnsPerChunk;
+            int to = Math.min(columns, from + columnsPerChunk);
+            for (double[] row : a) {
+                for (int j = from; j < to; ++j) {
+                    result[j] += operator.applyAsDouble(row[j]);
+                }
+            }
+        });
+
+        return result;
+    }
+
+    private static int columnCount(double[][] a) {
+        return a.length == 0 ? 0 : a[0].length;
+    }
+
+    private static int chunkCount(long count) {
+        return (int) ((count + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    private static void forEachChunk(long count, IntConsumer task) {
+        forEachChunk(count, chunkCount(count), task);
+    }
+
+    private static void forEachChunk(long count, int chunkCount, IntConsumer task) {
+        if (count >= KernelParameters.current().getParallelThreshold() && chunkCount > 1) {
+            IntStream.range(0, chunkCount).parallel().forEach(task);
+        } else {
+            for (int chunk = 0; chunk < chunkCount; ++chunk) {
+                task.accept(chunk);
+            }
+        }
+    }
+}
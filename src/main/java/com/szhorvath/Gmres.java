@@ -0,0 +1,139 @@
+package com.szhorvath;
+
+import java.util.Arrays;
+
+/**
+ * The Gmres class solves A * x = b for general square operators with the restarted generalized minimal residual
+ * method, GMRES(m).
+ * The preconditioner is applied from the right, (A * M^-1) * (M * x) = b, so the residual norm it reports is the norm
+ * of the true residual. Each restart cycle keeps m + 1 basis vectors in memory.
+ */
+public class Gmres extends IterativeSolver {
+    private static final int DEFAULT_RESTART = 30;
+
+    private final int restart;
+
+    /**
+     * Empty constructor. Restarts every 30 iterations.
+     */
+    public Gmres() {
+        this(DEFAULT_RESTART);
+    }
+
+    /**
+     * @param restart Number of iterations after which the Krylov basis is discarded and rebuilt from the residual.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if the restart length isn't positive.
+     */
+    public Gmres(int restart) {
+        if (restart < 1) {
+            throw new IllegalArgumentException("GMRES with non-positive restart length.");
+        }
+        this.restart = restart;
+    }
+
+    public int getRestart() {
+        return restart;
+    }
+
+    @Override
+    protected void solve(LinearOperator a, double[] b, double[] x) throws MatrixOperationException {
+        int n = b.length;
+        int m = Math.min(restart, n);
+        double target = getTolerance() * norm(b);
+        double[][] basis = new double[m + 1][];
+        double[][] hessenberg = new double[m + 1][m];
+        double[] cosines = new double[m];
+        double[] sines = new double[m];
+        double[] g = new double[m + 1];
+        double[] r = new double[n];
+        double[] z = new double[n];
+
+        residual(a, b, x, r);
+        double residualNorm = norm(r);
+        recordResidual(residualNorm);
+        int iteration = 0;
+        while (residualNorm > target) {
+            if (iteration >= getMaxIterations()) {
+                throw new MatrixOperationException("GMRES did not converge within the iteration limit.");
+            }
+            basis[0] = scaled(r, 1.0 / residualNorm);
+            Arrays.fill(g, 0.0);
+            g[0] = residualNorm;
+
+            int j = 0;
+            while (j < m && iteration < getMaxIterations()) {
+                precondition(basis[j], z);  // Arnoldi step with modified Gram-Schmidt.
+                double[] w = new double[n];
+                a.apply(z, w);
+                for (int i = 0; i <= j; ++i) {
+                    double h = dot(w, basis[i]);
+                    hessenberg[i][j] = h;
+                    double[] v = basis[i];
+                    for (int k = 0; k < n; ++k) {
+                        w[k] -= h * v[k];
+                    }
+                }
+                double subdiagonal = norm(w);
+                hessenberg[j + 1][j] = subdiagonal;
+
+                for (int i = 0; i < j; ++i) {  // Previous Givens rotations, then a new one to annihilate the
+                    double temp = cosines[i] * hessenberg[i][j] + sines[i] * hessenberg[i + 1][j];  // subdiagonal.
+                    hessenberg[i + 1][j] = -sines[i] * hessenberg[i][j] + cosines[i] * hessenberg[i + 1][j];
+                    hessenberg[i][j] = temp;
+                }
+                double radius = Math.hypot(hessenberg[j][j], hessenberg[j + 1][j]);
+                if (radius == 0.0) {
+                    throw new MatrixOperationException("GMRES breakdown on singular operator.");
+                }
+                cosines[j] = hessenberg[j][j] / radius;
+                sines[j] = hessenberg[j + 1][j] / radius;
+                hessenberg[j][j] = radius;
+                hessenberg[j + 1][j] = 0.0;
+                g[j + 1] = -sines[j] * g[j];
+                g[j] = cosines[j] * g[j];
+
+                ++j;
+                ++iteration;
+                residualNorm = Math.abs(g[j]);
+                iterated(iteration, residualNorm);
+                if (residualNorm <= target || subdiagonal == 0.0) {
+                    break;
+                }
+                basis[j] = scaled(w, 1.0 / subdiagonal);
+            }
+
+            double[] y = new double[j];  // Back substitution on the triangularized Hessenberg matrix, then
+            for (int i = j - 1; i >= 0; --i) {  // x += M^-1 * (V * y).
+                double sum = g[i];
+                for (int k = i + 1; k < j; ++k) {
+                    sum -= hessenberg[i][k] * y[k];
+                }
+                y[i] = sum / hessenberg[i][i];
+            }
+            double[] update = new double[n];
+            for (int i = 0; i < j; ++i) {
+                double[] v = basis[i];
+                for (int k = 0; k < n; ++k) {
+                    update[k] += y[i] * v[k];
+                }
+            }
+            precondition(update, z);
+            for (int k = 0; k < n; ++k) {
+                x[k] += z[k];
+            }
+
+            residual(a, b, x, r);  // Rounding makes the estimate drift from the true residual, restart from the
+            residualNorm = norm(r);  // latter.
+            recordResidual(residualNorm);
+        }
+    }
+
+    private static double[] scaled(double[] v, double factor) {
+        double[] result = new double[v.length];
+        for (int i = 0; i < v.length; ++i) {
+            result[i] = factor * v[i];
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package com.szhorvath;
+
+/**
+ * The IncompleteCholeskyPreconditioner class approximates a symmetric positive definite matrix by an incomplete
+ * Cholesky factorization without fill-in, IC(0): M = L * LT, where L only has non-zero elements where the lower
+ * triangle of A has.
+ * L is stored by rows, each row holding the column indices and values of its off-diagonal non-zero elements.
+ */
+public class IncompleteCholeskyPreconditioner implements Preconditioner {
+    private final int[][] columns;
+    private final double[][] values;
+    private final double[] diagonal;
+
+    /**
+     * Constructor to factor the given matrix.
+     * @param m Symmetric positive definite matrix. Only its lower triangle is read.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     * @throws MatrixOperationException Throws MatrixOperationException if the factorization breaks down on a
+     * non-positive pivot.
+     */
+    public IncompleteCholeskyPreconditioner(Matrix m) throws MatrixException {
+        if (!m.isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Incomplete Cholesky preconditioner of non-square or empty matrix.");
+        }
+        double[][] a = m.toArray();
+        int n = a.length;
+        columns = new int[n][];
+        values = new double[n][];
+        diagonal = new double[n];
+        for (int i = 0; i < n; ++i) {
+            int count = 0;
+            for (int j = 0; j < i; ++j) {
+                if (a[i][j] != 0.0) {
+                    ++count;
+                }
+            }
+            int[] rowColumns = new int[count];
+            double[] rowValues = new double[count];
+            count = 0;
+            for (int j = 0; j < i; ++j) {
+                if (a[i][j] != 0.0) {
+                    rowColumns[count] = j;
+                    rowValues[count] = (a[i][j] - sparseDot(rowColumns, rowValues, count, j)) / diagonal[j];
+                    ++count;
+                }
+            }
+            double pivot = a[i][i] - sumOfSquares(rowValues);
+            if (!(pivot > 0.0)) {
+                throw new MatrixOperationException("Incomplete Cholesky preconditioner breakdown on non-positive "
+                        + "pivot.");
+            }
+            diagonal[i] = Math.sqrt(pivot);
+            columns[i] = rowColumns;
+            values[i] = rowValues;
+        }
+    }
+
+    /**
+     * Computes the sum of L(i, k) * L(j, k) for k < j, where the first count elements of row i are already known.
+     */
+    private double sparseDot(int[] rowColumns, double[] rowValues, int count, int j) {
+        int[] otherColumns = columns[j];
+        double[] otherValues = values[j];
+        double sum = 0.0;
+        int p = 0;
+        int q = 0;
+        while (p < count && q < otherColumns.length) {  // Merge of the two sorted index lists.
+            if (rowColumns[p] == otherColumns[q]) {
+                sum += rowValues[p++] * otherValues[q++];
+            } else if (rowColumns[p] < otherColumns[q]) {
+                ++p;
+            } else {
+                ++q;
+            }
+        }
+
+        return sum;
+    }
+
+    private static double sumOfSquares(double[] rowValues) {
+        double sum = 0.0;
+        for (int p = 0; p < rowValues.length; ++p) {
+            sum += rowValues[p] * rowValues[p];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        int n = diagonal.length;
+        for (int i = 0; i < n; ++i) {  // Forward substitution: L * y = r
+            int[] rowColumns = columns[i];
+            double[] rowValues = values[i];
+            double sum = r[i];
+            for (int p = 0; p < rowColumns.length; ++p) {
+                sum -= rowValues[p] * z[rowColumns[p]];
+            }
+            z[i] = sum / diagonal[i];
+        }
+        for (int i = n - 1; i >= 0; --i) {  // Backward substitution: LT * z = y, scattering each finished element.
+            z[i] /= diagonal[i];
+            double zi = z[i];
+            int[] rowColumns = columns[i];
+            double[] rowValues = values[i];
+            for (int p = 0; p < rowColumns.length; ++p) {
+                z[rowColumns[p]] -= rowValues[p] * zi;
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.szhorvath;
+
+import java.util.Random;
+
+/**
+ * The IncrementalInverse class keeps a square matrix together with its inverse, and updates the inverse after low-rank
+ * changes of the matrix instead of inverting it again.
+ * A rank-k update A + U * VT is applied with the Sherman-Morrison-Woodbury formula in O(N^2 * k) operations. After
+ * every update the inverse is checked against the updated matrix with a random probe vector, and it is recomputed from
+ * scratch once the accumulated rounding error exceeds the drift tolerance.
+ */
+public class IncrementalInverse {
+    private static final double DEFAULT_DRIFT_TOLERANCE = 1e-8;
+
+    private final double[][] matrix;
+    private double[][] inverse;
+    private double driftTolerance;
+    private double lastDrift;
+    private int reinversionCount;
+    private final Random probeRandom = new Random(0x5eed);
+
+    /**
+     * Constructor to start tracking a matrix. Computes the initial inverse once.
+     * @param m Non-singular square matrix to track. Its values are copied.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix is singular.
+     */
+    public IncrementalInverse(Matrix m) throws MatrixException {
+        if (!m.isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Incremental inverse of non-square or empty matrix.");
+        }
+        this.matrix = m.toArray();
+        this.inverse = ComputeBackends.invert(ComputeBackends.get(), matrix);
+        this.driftTolerance = DEFAULT_DRIFT_TOLERANCE;
+    }
+
+    /**
+     * Constructor to start tracking a matrix whose inverse is already known.
+     * @param m Non-singular square matrix to track. Its values are copied.
+     * @param inverse Inverse of the given matrix. Its values are copied.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square, or
+     * if the inverse has different dimensions.
+     */
+    public IncrementalInverse(Matrix m, Matrix inverse) throws MatrixSizeMismatchException {
+        if (!m.isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Incremental inverse of non-square or empty matrix.");
+        }
+        if (inverse.getRowCount() != m.getRowCount() || inverse.getColumnCount() != m.getColumnCount()) {
+            throw new MatrixSizeMismatchException("Incremental inverse with different sized matrix and inverse.");
+        }
+        this.matrix = m.toArray();
+        this.inverse = inverse.toArray();
+        this.driftTolerance = DEFAULT_DRIFT_TOLERANCE;
+    }
+
+    public Matrix getMatrix() {
+        return Matrix.fromArray(matrix);
+    }
+
+    public Matrix getInverse() {
+        return Matrix.fromArray(inverse);
+    }
+
+    public double getDriftTolerance() {
+        return driftTolerance;
+    }
+
+    /**
+     * Sets the relative residual above which the inverse is recomputed from scratch.
+     * @param driftTolerance Relative residual ||A * (A^-1 * r) - r|| / ||r|| tolerated after an update.
+     */
+    public void setDriftTolerance(double driftTolerance) {
+        this.driftTolerance = driftTolerance;
+    }
+
+    /**
+     * @return Returns the relative residual measured by the drift check of the last update.
+     */
+    public double getLastDrift() {
+        return lastDrift;
+    }
+
+    /**
+     * @return Returns how many times the inverse had to be recomputed from scratch.
+     */
+    public int getReinversionCount() {
+        return reinversionCount;
+    }
+
+    /**
+     * Rank-1 update (Sherman-Morrison). Replaces the tracked matrix A with A + u * vT and updates its inverse.
+     * @param u Column vector of the update, of size N.
+     * @param v Row vector of the update, of size N.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if a vector's size isn't N.
+     * @throws MatrixOperationException Throws MatrixOperationException if the updated matrix is singular.
+     */
+    public void update(Vector u, Vector v) throws MatrixException {
+        if (u.getSize() != matrix.length || v.getSize() != matrix.length) {
+            throw new MatrixSizeMismatchException("Incremental inverse update with different sized vectors.");
+        }
+        double[][] uColumn = new double[matrix.length][1];
+        double[][] vColumn = new double[matrix.length][1];
+        for (int i = 0; i < matrix.length; ++i) {
+            uColumn[i][0] = u.getValues().get(i);
+            vColumn[i][0] = v.getValues().get(i);
+        }
+        update(uColumn, vColumn);
+    }
+
+    /**
+     * Rank-k update (Sherman-Morrison-Woodbury). Replaces the tracked matrix A with A + U * VT and updates its inverse.
+     * @param u NxK matrix whose columns span the update.
+     * @param v NxK matrix whose columns span the update.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrices aren't both NxK.
+     * @throws MatrixOperationException Throws MatrixOperationException if the updated matrix is singular.
+     */
+    public void update(Matrix u, Matrix v) throws MatrixException {
+        if (u.getRowCount() != matrix.length || v.getRowCount() != matrix.length ||
+                u.getColumnCount() != v.getColumnCount()) {
+            throw new MatrixSizeMismatchException("Incremental inverse update with different sized matrices.");
+        }
+        update(u.toArray(), v.toArray());
+    }
+
+    /**
+     * Computes the inverse of A + U * VT from the inverse of A with the Sherman-Morrison-Woodbury formula, without
+     * any drift check.
+     * @param inverse Inverse of A, NxN.
+     * @param u NxK matrix whose columns span the update.
+     * @param v NxK matrix whose columns span the update.
+     * @return Returns a new matrix which is the inverse of A + U * VT.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the dimensions don't match.
+     * @throws MatrixOperationException Throws MatrixOperationException if the updated matrix is singular.
+     */
+    public static Matrix woodbury(Matrix inverse, Matrix u, Matrix v) throws MatrixException {
+        if (!inverse.isSquareMatrix() || u.getRowCount() != inverse.getRowCount() ||
+                v.getRowCount() != inverse.getRowCount() || u.getColumnCount() != v.getColumnCount()) {
+            throw new MatrixSizeMismatchException("Incremental inverse update with different sized matrices.");
+        }
+
+        return Matrix.fromArray(woodbury(inverse.toArray(), u.toArray(), v.toArray()));
+    }
+
+    private void update(double[][] u, double[][] v) throws MatrixOperationException {
+        addOuterProduct(u, v, 1.0);
+        double[][] updated = null;
+        double updatedDrift = Double.POSITIVE_INFINITY;
+        try {
+            updated = woodbury(inverse, u, v);
+            updatedDrift = drift(updated);
+        } catch (MatrixOperationException e) {  // Singular capacitance matrix: the updated matrix might still be
+            // invertible, let the full inversion decide.
+        }
+        if (!(updatedDrift <= driftTolerance)) {
+            try {
+                updated = ComputeBackends.invert(ComputeBackends.get(), matrix);
+            } catch (MatrixOperationException e) {
+                addOuterProduct(u, v, -1.0);
+                throw new MatrixOperationException("Incremental inverse update producing a singular matrix.");
+            }
+            updatedDrift = drift(updated);
+            ++reinversionCount;
+        }
+        inverse = updated;
+        lastDrift = updatedDrift;
+    }
+
+    /**
+     * A += sign * U * VT
+     */
+    private void addOuterProduct(double[][] u, double[][] v, double sign) {
+        ComputeBackends.get().gemm(sign, u, transpose(v), 1.0, matrix);
+    }
+
+    /**
+     * (A + U * VT)^-1 = A^-1 - A^-1 * U * (I + VT * A^-1 * U)^-1 * VT * A^-1
+     */
+    private static double[][] woodbury(double[][] inverse, double[][] u, double[][] v) throws MatrixOperationException {
+        ComputeBackend backend = ComputeBackends.get();
+        int n = inverse.length;
+        int k = u[0].length;
+
+        double[][] inverseU = new double[n][k];  // A^-1 * U, NxK
+        backend.gemm(1.0, inverse, u, 0.0, inverseU);
+        double[][] vTInverse = new double[k][n];  // VT * A^-1, KxN
+        backend.gemm(1.0, transpose(v), inverse, 0.0, vTInverse);
+        double[][] capacitance = DenseKernels.identity(k);  // I + VT * A^-1 * U, KxK
+        backend.gemm(1.0, vTInverse, u, 1.0, capacitance);
+        double[][] correction = new double[k][n];  // (I + VT * A^-1 * U)^-1 * VT * A^-1, KxN
+        backend.gemm(1.0, ComputeBackends.invert(backend, capacitance), vTInverse, 0.0, correction);
+
+        double[][] result = DenseKernels.copy(inverse);
+        backend.gemm(-1.0, inverseU, correction, 1.0, result);
+
+        return result;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        double[][] result = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; ++i) {
+            for (int j = 0; j < a[i].length; ++j) {
+                result[j][i] = a[i][j];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Measures how far the given inverse is from the tracked matrix's true inverse in O(N^2), by checking how well
+     * A * (A^-1 * r) reproduces a random vector r.
+     */
+    private double drift(double[][] inverse) {
+        int n = matrix.length;
+        double[] probe = new double[n];
+        double probeNorm = 0.0;
+        for (int i = 0; i < n; ++i) {
+            probe[i] = probeRandom.nextGaussian();
+            probeNorm += probe[i] * probe[i];
+        }
+        ComputeBackend backend = ComputeBackends.get();
+        double[] y = new double[n];
+        backend.gemv(1.0, inverse, probe, 0.0, y);
+        double[] z = new double[n];
+        backend.gemv(1.0, matrix, y, 0.0, z);
+        double residualNorm = 0.0;
+        for (int i = 0; i < n; ++i) {
+            double d = z[i] - probe[i];
+            residualNorm += d * d;
+        }
+
+        return Math.sqrt(residualNorm / probeNorm);
+    }
+}
@@ -0,0 +1,13 @@
+package com.szhorvath;
+
+/**
+ * The IterationListener interface receives the progress of an iterative solver after every iteration.
+ */
+public interface IterationListener {
+
+    /**
+     * @param iteration Number of the finished iteration, starting from 1.
+     * @param residualNorm Euclidean norm of the residual b - A * x after the iteration.
+     */
+    void onIteration(int iteration, double residualNorm);
+}
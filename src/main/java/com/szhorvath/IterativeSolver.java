@@ -0,0 +1,165 @@
+package com.szhorvath;
+
+/**
+ * The IterativeSolver class holds the settings shared by the Krylov subspace solvers, which solve A * x = b using only
+ * matrix-vector products with A.
+ * The solvers stop once ||b - A * x|| <= tolerance * ||b||, and throw an exception if that doesn't happen within the
+ * iteration limit.
+ */
+public abstract class IterativeSolver {
+    private double tolerance = 1e-10;
+    private int maxIterations = 1000;
+    private Preconditioner preconditioner;
+    private IterationListener listener;
+    private int iterationCount;
+    private double residualNorm;
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * @param tolerance Relative residual norm ||b - A * x|| / ||b|| at which the iteration stops.
+     */
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public void setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    public Preconditioner getPreconditioner() {
+        return preconditioner;
+    }
+
+    /**
+     * @param preconditioner Preconditioner to use, or null to solve without one.
+     */
+    public void setPreconditioner(Preconditioner preconditioner) {
+        this.preconditioner = preconditioner;
+    }
+
+    public IterationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * @param listener Listener to notify after every iteration, or null.
+     */
+    public void setListener(IterationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return Returns the number of iterations the last solve took.
+     */
+    public int getIterationCount() {
+        return iterationCount;
+    }
+
+    /**
+     * @return Returns the residual norm ||b - A * x|| reached by the last solve.
+     */
+    public double getResidualNorm() {
+        return residualNorm;
+    }
+
+    /**
+     * Solves A * x = b starting from the zero vector.
+     * @param a Square linear operator.
+     * @param b Right-hand side.
+     * @return Returns a new vector which is the approximate solution x.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the operator isn't square.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if b's size doesn't match the operator.
+     * @throws MatrixOperationException Throws MatrixOperationException if the solver doesn't converge.
+     */
+    public Vector solve(LinearOperator a, Vector b) throws MatrixException, VectorSizeMismatchException {
+        return solve(a, b, null);
+    }
+
+    /**
+     * Solves A * x = b starting from the given initial guess.
+     * @param a Square linear operator.
+     * @param b Right-hand side.
+     * @param initialGuess Starting vector, or null to start from the zero vector.
+     * @return Returns a new vector which is the approximate solution x.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the operator isn't square.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if a vector's size doesn't match the
+     * operator.
+     * @throws MatrixOperationException Throws MatrixOperationException if the solver doesn't converge.
+     */
+    public Vector solve(LinearOperator a, Vector b, Vector initialGuess) throws MatrixException,
+            VectorSizeMismatchException {
+        int n = a.getRowCount();
+        if (n == 0 || a.getColumnCount() != n) {
+            throw new MatrixSizeMismatchException("Iterative solve with non-square or empty operator.");
+        }
+        if (b.getSize() != n || (initialGuess != null && initialGuess.getSize() != n)) {
+            throw new VectorSizeMismatchException("Iterative solve with different sized vector.");
+        }
+        double[] x = initialGuess == null ? new double[n] : initialGuess.toArray();
+        iterationCount = 0;
+        residualNorm = Double.NaN;
+        solve(a, b.toArray(), x);
+
+        return Vector.fromArray(x);
+    }
+
+    /**
+     * Runs the iteration, improving x in place. Implementations report every iteration through iterated().
+     */
+    protected abstract void solve(LinearOperator a, double[] b, double[] x) throws MatrixOperationException;
+
+    /**
+     * Records a finished iteration and notifies the listener. Stops the solve if it has been cancelled.
+     */
+    protected void iterated(int iteration, double residualNorm) throws MatrixCancellationException {
+        Cancellation.checkpoint();
+        this.iterationCount = iteration;
+        this.residualNorm = residualNorm;
+        if (listener != null) {
+            listener.onIteration(iteration, residualNorm);
+        }
+    }
+
+    /**
+     * Records a residual norm without counting an iteration, such as the one of the starting vector.
+     */
+    protected void recordResidual(double residualNorm) {
+        this.residualNorm = residualNorm;
+    }
+
+    /**
+     * z = M^-1 * r, or a copy of r without a preconditioner.
+     */
+    protected void precondition(double[] r, double[] z) {
+        if (preconditioner != null) {
+            preconditioner.apply(r, z);
+        } else {
+            System.arraycopy(r, 0, z, 0, r.length);
+        }
+    }
+
+    /**
+     * r = b - A * x
+     */
+    protected static void residual(LinearOperator a, double[] b, double[] x, double[] r) {
+        a.apply(x, r);
+        for (int i = 0; i < r.length; ++i) {
+            r[i] = b[i] - r[i];
+        }
+    }
+
+    protected static double dot(double[] x, double[] y) {
+        return ComputeBackends.get().dot(x, y);
+    }
+
+    protected static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+}
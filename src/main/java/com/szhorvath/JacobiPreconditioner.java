@@ -0,0 +1,54 @@
+package com.szhorvath;
+
+/**
+ * The JacobiPreconditioner class approximates a matrix by its diagonal. (M = diag(A))
+ */
+public class JacobiPreconditioner implements Preconditioner {
+    private final double[] inverseDiagonal;
+
+    /**
+     * Constructor to build the preconditioner from the diagonal of the given matrix.
+     * @param m Square matrix to precondition.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     * @throws MatrixOperationException Throws MatrixOperationException if a diagonal element is zero.
+     */
+    public JacobiPreconditioner(Matrix m) throws MatrixException {
+        if (!m.isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Jacobi preconditioner of non-square or empty matrix.");
+        }
+        Vector diagonal = new Vector();
+        double[][] values = m.toArray();
+        for (int i = 0; i < values.length; ++i) {
+            diagonal.add(values[i][i]);
+        }
+        inverseDiagonal = invert(diagonal);
+    }
+
+    /**
+     * Constructor to build the preconditioner from a known diagonal, for operators which aren't stored as a matrix.
+     * @param diagonal Diagonal of the operator.
+     * @throws MatrixOperationException Throws MatrixOperationException if a diagonal element is zero.
+     */
+    public JacobiPreconditioner(Vector diagonal) throws MatrixOperationException {
+        inverseDiagonal = invert(diagonal);
+    }
+
+    private static double[] invert(Vector diagonal) throws MatrixOperationException {
+        double[] result = diagonal.toArray();
+        for (int i = 0; i < result.length; ++i) {
+            if (result[i] == 0.0) {
+                throw new MatrixOperationException("Jacobi preconditioner of matrix with zero on the diagonal.");
+            }
+            result[i] = 1.0 / result[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        for (int i = 0; i < inverseDiagonal.length; ++i) {
+            z[i] = inverseDiagonal[i] * r[i];
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.szhorvath;
+
+/**
+ * The JavaComputeBackend class is the default, pure Java compute backend. Its multiplication is the cache-blocked,
+ * parallel kernel tuned by KernelParameters, and its QR decomposition is the blocked Householder one of
+ * QRDecomposition.
+ */
+public class JavaComputeBackend implements ComputeBackend {
+    public static final String NAME = "java";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    public void gemm(double alpha, double[][] a, double[][] b, double beta, double[][] c) {
+        if (alpha == 1.0 && beta == 0.0) {
+            DenseKernels.multiply(a, b, c);
+        } else if (alpha == 1.0 && beta == 1.0) {
+            DenseKernels.multiplyAdd(a, b, c);
+        } else {
+            double[][] product = new double[c.length][c.length == 0 ? 0 : c[0].length];
+            DenseKernels.multiply(a, b, product);
+            for (int i = 0; i < c.length; ++i) {
+                double[] row = c[i];
+                double[] productRow = product[i];
+                for (int j = 0; j < row.length; ++j) {
+                    row[j] = beta == 0.0 ? alpha * productRow[j] : alpha * productRow[j] + beta * row[j];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void gemv(double alpha, double[][] a, double[] x, double beta, double[] y) {
+        for (int i = 0; i < y.length; ++i) {
+            double[] row = a[i];
+            double sum = 0.0;
+            for (int j = 0; j < x.length; ++j) {
+                sum += row[j] * x[j];
+            }
+            y[i] = beta == 0.0 ? alpha * sum : alpha * sum + beta * y[i];
+        }
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, double[] y) {
+        for (int i = 0; i < y.length; ++i) {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    @Override
+    public double dot(double[] x, double[] y) {
+        double result = 0.0;
+        for (int i = 0; i < x.length; ++i) {
+            result += x[i] * y[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public void luDecompose(double[][] a, int[] pivots) throws MatrixOperationException {
+        DenseKernels.luDecompose(a, pivots);
+    }
+
+    @Override
+    public double[] luSolve(double[][] lu, int[] pivots, double[] b) {
+        return DenseKernels.luSolve(lu, pivots, b);
+    }
+
+    @Override
+    public void choleskyDecompose(double[][] a) throws MatrixOperationException {
+        int n = a.length;
+        for (int i = 0; i < n; ++i) {
+            Cancellation.checkpoint();
+            double[] row = a[i];
+            for (int j = 0; j <= i; ++j) {
+                double[] other = a[j];
+                double sum = row[j];
+                for (int k = 0; k < j; ++k) {
+                    sum -= row[k] * other[k];
+                }
+                if (i == j) {
+                    if (!(sum > 0.0)) {
+                        throw new MatrixOperationException("Cholesky decomposition of non-positive definite matrix.");
+                    }
+                    row[i] = Math.sqrt(sum);
+                } else {
+                    row[j] = sum / other[j];
+                }
+            }
+            for (int j = i + 1; j < n; ++j) {
+                row[j] = 0.0;
+            }
+        }
+    }
+
+    @Override
+    public void qrDecompose(double[][] a, double[][] q, double[][] r) {
+        QRDecomposition qr = new QRDecomposition(DenseKernels.copy(a), KernelParameters.current().getQrBlockSize());
+        double[][] thinQ = qr.thinQ();
+        double[][] upper = qr.r();
+        for (int i = 0; i < q.length; ++i) {
+            System.arraycopy(thinQ[i], 0, q[i], 0, q[i].length);
+        }
+        for (int i = 0; i < r.length; ++i) {
+            System.arraycopy(upper[i], 0, r[i], 0, r[i].length);
+        }
+    }
+}
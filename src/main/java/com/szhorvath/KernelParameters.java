@@ -0,0 +1,85 @@
+package com.szhorvath;
+
+/**
+ * The KernelParameters class holds the tuning parameters of the primitive kernels, which depend on the cache sizes and
+ * core count of the host. The defaults suit most machines; Autotuner can measure better ones and persist them.
+ */
+public class KernelParameters {
+    private static final KernelParameters DEFAULTS = new KernelParameters(64, 1L << 21, 32);
+
+    private static volatile KernelParameters current = DEFAULTS;
+
+    private final int multiplyBlockSize;
+    private final long parallelThreshold;
+    private final int qrBlockSize;
+
+    /**
+     * @param multiplyBlockSize Tile size of the matrix multiplication kernel, in rows and columns.
+     * @param parallelThreshold Number of multiply-add operations from which the kernels split their work across the
+     * cores. Long.MAX_VALUE keeps them sequential.
+     * @param qrBlockSize Number of columns reduced per panel by the blocked QR decomposition.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if a size isn't positive or the threshold is
+     * negative.
+     */
+    public KernelParameters(int multiplyBlockSize, long parallelThreshold, int qrBlockSize) {
+        if (multiplyBlockSize <= 0 || qrBlockSize <= 0 || parallelThreshold < 0) {
+            throw new IllegalArgumentException("Kernel parameters out of range.");
+        }
+        this.multiplyBlockSize = multiplyBlockSize;
+        this.parallelThreshold = parallelThreshold;
+        this.qrBlockSize = qrBlockSize;
+    }
+
+    public static KernelParameters defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return Returns the parameters used by the kernels.
+     */
+    public static KernelParameters current() {
+        return current;
+    }
+
+    /**
+     * Replaces the parameters used by the kernels. Operations already running keep the old ones.
+     * @param parameters New parameters.
+     */
+    public static void setCurrent(KernelParameters parameters) {
+        current = parameters;
+    }
+
+    public int getMultiplyBlockSize() {
+        return multiplyBlockSize;
+    }
+
+    public long getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public int getQrBlockSize() {
+        return qrBlockSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof KernelParameters)) {
+            return false;
+        }
+        KernelParameters p = (KernelParameters) o;
+
+        return multiplyBlockSize == p.multiplyBlockSize && parallelThreshold == p.parallelThreshold &&
+                qrBlockSize == p.qrBlockSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * multiplyBlockSize + Long.hashCode(parallelThreshold)) * 31 + qrBlockSize;
+    }
+
+    @Override
+    public String toString() {
+        return "multiplyBlockSize=" + multiplyBlockSize + ", parallelThreshold=" + parallelThreshold +
+                ", qrBlockSize=" + qrBlockSize;
+    }
+}
@@ -0,0 +1,20 @@
+package com.szhorvath;
+
+/**
+ * The LinearOperator interface describes a linear map y = A * x only through its action on a vector, so iterative
+ * solvers can work on matrices which are never stored explicitly.
+ * Vectors are passed as primitive arrays, as the operator is applied once or more per solver iteration.
+ */
+public interface LinearOperator {
+
+    int getRowCount();
+
+    int getColumnCount();
+
+    /**
+     * Computes y = A * x.
+     * @param x Input of size getColumnCount(). Must not be modified.
+     * @param y Output of size getRowCount(). Its previous contents are overwritten.
+     */
+    void apply(double[] x, double[] y);
+}
@@ -1,13 +1,16 @@
 package com.szhorvath;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * The Matrix class encapsulates a list of vectors making up a matrix, and allows the execution of various matrix
  * operations.
  */
-public class Matrix {
+public class Matrix implements LinearOperator {
     private List<Vector> rows;
 
     /**
@@ -35,10 +38,12 @@ public class Matrix {
         }
     }
 
+    @Override
     public int getRowCount() {
         return rows.size();
     }
 
+    @Override
     public int getColumnCount() {
         return rows.get(0).getSize();
     }
@@ -153,34 +158,350 @@ public class Matrix {
      */
     public Matrix multiplyMatrix(Matrix m) throws MatrixSizeMismatchException {
         if (this.getColumnCount() == m.getRowCount()) {
-            Matrix result = new Matrix();
-            for (int i = 0; i < this.getRowCount(); ++i) {
-                Vector temp = new Vector();
-                for (int j = 0; j < m.getColumnCount(); ++j) {
-                    double dotProduct = 0.0;
-                    for (int k = 0; k < m.getRowCount(); ++k) {
-                        dotProduct += rows.get(i).getValues().get(k) * m.rows.get(k).getValues().get(j);  // Dot product
-                    }                                                                                     // of a row of
-                    temp.add(dotProduct);                                                                 // the first
-                }                                                                                         // and column
-                result.add(temp);                                                                         // of the
-            }                                                                                             // second
-            // matrix.
-            return result;
+            return fromArray(multiply(toArray(), m.toArray()));
         } else {
             throw new MatrixSizeMismatchException("Multiplication of matrices where the first matrix's column count isn't equal to the second's row count.");
         }
     }
 
+    /**
+     * Symmetric rank-k product of this matrix's transpose and itself, the Gram matrix of its columns. (MxN * NxM)
+     * Only one triangle is computed, reading this matrix row by row without forming its transpose, which takes about
+     * half the work of transpose().multiplyMatrix(this). Large products are computed in parallel.
+     * @return Returns a new, symmetric MxM matrix.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty.
+     */
+    public Matrix transposeMultiplySelf() throws MatrixSizeMismatchException {
+        return transposeMultiplySelfPacked().toMatrix();
+    }
+
+    /**
+     * Same as transposeMultiplySelf(), keeping the result packed, which takes about half the memory.
+     * @return Returns a new packed, symmetric MxM matrix.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty.
+     */
+    public PackedSymmetricMatrix transposeMultiplySelfPacked() throws MatrixSizeMismatchException {
+        if (rows.isEmpty()) {
+            throw new MatrixSizeMismatchException("Symmetric rank-k product of empty matrix.");
+        }
+
+        return new PackedSymmetricMatrix(getColumnCount(), ComputeBackends.get().transposeMultiplySelf(toArray()));
+    }
+
+    /**
+     * Symmetric rank-k product of this matrix and its transpose, the Gram matrix of its rows. (NxM * MxN)
+     * Only one triangle is computed, each element as the dot product of two rows, which takes about half the work of
+     * multiplyMatrix(transpose()). Large products are computed in parallel.
+     * @return Returns a new, symmetric NxN matrix.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty.
+     */
+    public Matrix multiplySelfTranspose() throws MatrixSizeMismatchException {
+        return multiplySelfTransposePacked().toMatrix();
+    }
+
+    /**
+     * Same as multiplySelfTranspose(), keeping the result packed, which takes about half the memory.
+     * @return Returns a new packed, symmetric NxN matrix.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty.
+     */
+    public PackedSymmetricMatrix multiplySelfTransposePacked() throws MatrixSizeMismatchException {
+        if (rows.isEmpty()) {
+            throw new MatrixSizeMismatchException("Symmetric rank-k product of empty matrix.");
+        }
+
+        return new PackedSymmetricMatrix(getRowCount(), ComputeBackends.get().multiplySelfTranspose(toArray()));
+    }
+
+    /**
+     * Raises this matrix to the given power with exponentiation by squaring, which takes O(log k) multiplications.
+     * All multiplications reuse the same three working buffers. The matrix has to be a square matrix. (NxN)
+     * @param exponent Power to raise this matrix to. Zero gives the identity matrix, a negative power is the power of
+     * the inverse.
+     * @return Returns a new matrix which is this matrix raised to the given power.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty, or is a non-square
+     * matrix.
+     * @throws MatrixOperationException Throws MatrixOperationException if the exponent is negative and the matrix is
+     * singular.
+     */
+    public Matrix power(int exponent) throws MatrixException {
+        if (!isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Power of non-square or empty matrix.");
+        }
+        int n = getRowCount();
+        double[][] base = exponent < 0 ? ComputeBackends.invert(ComputeBackends.get(), toArray()) : toArray();
+        long remaining = Math.abs((long) exponent);
+        double[][] result = DenseKernels.identity(n);
+        double[][] temp = new double[n][n];
+        boolean identity = true;
+        while (remaining > 0) {
+            Cancellation.checkpoint();
+            if ((remaining & 1) == 1) {
+                if (identity) {
+                    for (int i = 0; i < n; ++i) {
+                        System.arraycopy(base[i], 0, result[i], 0, n);
+                    }
+                    identity = false;
+                } else {
+                    ComputeBackends.get().gemm(1.0, result, base, 0.0, temp);
+                    double[][] swap = result;
+                    result = temp;
+                    temp = swap;
+                }
+            }
+            remaining >>= 1;
+            if (remaining > 0) {
+                ComputeBackends.get().gemm(1.0, base, base, 0.0, temp);
+                double[][] swap = base;
+                base = temp;
+                temp = swap;
+            }
+        }
+
+        return fromArray(result);
+    }
+
+    /**
+     * Multiplies a chain of matrices. (N0xN1 * N1xN2 * ... * Nk-1xNk)
+     * The cheapest parenthesization is chosen first with the classic dynamic programming algorithm over the
+     * dimensions, which can save orders of magnitude of work compared to multiplying from left to right.
+     * @param matrices Matrices to multiply, in order.
+     * @return Returns a new matrix which is the product of the given matrices.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if no matrices are given, or if a matrix's
+     * column count isn't equal to the next matrix's row count.
+     */
+    public static Matrix multiplyChain(Matrix... matrices) throws MatrixSizeMismatchException {
+        if (matrices.length == 0) {
+            throw new MatrixSizeMismatchException("Multiplication of an empty chain of matrices.");
+        }
+        int count = matrices.length;
+        long[] dimensions = new long[count + 1];
+        dimensions[0] = matrices[0].getRowCount();
+        for (int i = 0; i < count; ++i) {
+            if (matrices[i].getRowCount() != dimensions[i]) {
+                throw new MatrixSizeMismatchException("Multiplication of a chain of matrices where a matrix's column "
+                        + "count isn't equal to the next one's row count.");
+            }
+            dimensions[i + 1] = matrices[i].getColumnCount();
+        }
+
+        long[][] cost = new long[count][count];  // cost[i][j]: fewest multiplications needed for matrices i..j.
+        int[][] split = new int[count][count];  // split[i][j]: the last multiplication is (i..split) * (split+1..j).
+        for (int length = 2; length <= count; ++length) {
+            for (int i = 0; i + length - 1 < count; ++i) {
+                int j = i + length - 1;
+                cost[i][j] = Long.MAX_VALUE;
+                for (int k = i; k < j; ++k) {
+                    long candidate = cost[i][k] + cost[k + 1][j]
+                            + dimensions[i] * dimensions[k + 1] * dimensions[j + 1];
+                    if (candidate < cost[i][j]) {
+                        cost[i][j] = candidate;
+                        split[i][j] = k;
+                    }
+                }
+            }
+        }
+
+        double[][][] operands = new double[count][][];
+        for (int i = 0; i < count; ++i) {
+            operands[i] = matrices[i].toArray();
+        }
+
+        return fromArray(multiplyChain(operands, split, 0, count - 1));
+    }
+
+    private static double[][] multiplyChain(double[][][] operands, int[][] split, int i, int j) {
+        if (i == j) {
+            return operands[i];
+        }
+
+        return multiply(multiplyChain(operands, split, i, split[i][j]),
+                multiplyChain(operands, split, split[i][j] + 1, j));
+    }
+
+    /**
+     * Multiplies two arrays on the compute backend in use.
+     */
+    private static double[][] multiply(double[][] a, double[][] b) {
+        double[][] result = new double[a.length][b.length == 0 ? 0 : b[0].length];
+        ComputeBackends.get().gemm(1.0, a, b, 0.0, result);
+
+        return result;
+    }
+
     public Matrix scalarProduct(double scalar) {
         Matrix result = new Matrix();
         for (Vector row : rows) {
-            result.add(new Vector(row.scalarProduct(scalar).getValues()));
+            result.rows.add(row.scalarProduct(scalar));
         }
 
         return result;
     }
 
+    /**
+     * Applies a function to every element of this matrix. Large matrices are processed in parallel.
+     * @param operator Function to apply.
+     * @return Returns a new matrix holding the function's value for every element.
+     */
+    public Matrix map(DoubleUnaryOperator operator) {
+        double[][] values = toArray();
+        ElementwiseKernels.map(values, values, operator);
+
+        return fromArray(values);
+    }
+
+    /**
+     * Combines the elements of this matrix with the corresponding elements of the given matrix.
+     * The matrices have to have the same dimensions. (NxM, NxM) Large matrices are processed in parallel.
+     * @param m Matrix whose elements are the second arguments of the function.
+     * @param operator Function to apply to each pair of elements.
+     * @return Returns a new matrix holding the function's value for every pair of elements.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the two matrices have different
+     * dimensions.
+     */
+    public Matrix zip(Matrix m, DoubleBinaryOperator operator) throws MatrixSizeMismatchException {
+        if (hasSameDimensions(m)) {
+            double[][] values = toArray();
+            ElementwiseKernels.zip(values, m.toArray(), values, operator);
+
+            return fromArray(values);
+        } else {
+            throw new MatrixSizeMismatchException("Element-wise operation on different sized matrices.");
+        }
+    }
+
+    /**
+     * Hadamard product. Multiplies the elements of this matrix with the corresponding elements of the given matrix.
+     * The matrices have to have the same dimensions. (NxM o NxM)
+     * @param m Matrix to multiply with element by element.
+     * @return Returns a new matrix which is the element-wise product of the two.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the two matrices have different
+     * dimensions.
+     */
+    public Matrix hadamardProduct(Matrix m) throws MatrixSizeMismatchException {
+        if (hasSameDimensions(m)) {
+            return zip(m, (x, y) -> x * y);
+        } else {
+            throw new MatrixSizeMismatchException("Hadamard product of different sized matrices.");
+        }
+    }
+
+    /**
+     * Sums the elements of this matrix. The summation order depends only on the dimensions, so the result is the same
+     * whether or not it was computed in parallel.
+     * @return Returns the sum of the elements, 0.0 for an empty matrix.
+     */
+    public double sum() {
+        return ElementwiseKernels.reduce(toArray(), x -> x, 0.0, Double::sum);
+    }
+
+    /**
+     * @return Returns the smallest element of this matrix, or NaN if it contains NaN.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty.
+     */
+    public double min() throws MatrixSizeMismatchException {
+        if (rows.isEmpty() || getColumnCount() == 0) {
+            throw new MatrixSizeMismatchException("Minimum of empty matrix.");
+        }
+
+        return ElementwiseKernels.reduce(toArray(), x -> x, Double.POSITIVE_INFINITY, Math::min);
+    }
+
+    /**
+     * @return Returns the largest element of this matrix, or NaN if it contains NaN.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty.
+     */
+    public double max() throws MatrixSizeMismatchException {
+        if (rows.isEmpty() || getColumnCount() == 0) {
+            throw new MatrixSizeMismatchException("Maximum of empty matrix.");
+        }
+
+        return ElementwiseKernels.reduce(toArray(), x -> x, Double.NEGATIVE_INFINITY, Math::max);
+    }
+
+    /**
+     * @return Returns the Frobenius norm of this matrix, the square root of the sum of its squared elements.
+     */
+    public double frobeniusNorm() {
+        return Math.sqrt(ElementwiseKernels.reduce(toArray(), x -> x * x, 0.0, Double::sum));
+    }
+
+    /**
+     * @return Returns the 1-norm of this matrix, the largest sum of absolute values in a column.
+     */
+    public double normOne() {
+        double result = 0.0;
+        for (double sum : ElementwiseKernels.columnSums(toArray(), Math::abs)) {
+            result = Math.max(result, sum);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Returns the infinity norm of this matrix, the largest sum of absolute values in a row.
+     */
+    public double normInfinity() {
+        double result = 0.0;
+        for (double sum : ElementwiseKernels.rowSums(toArray(), Math::abs)) {
+            result = Math.max(result, sum);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Returns a new vector holding the sum of every row of this matrix.
+     */
+    public Vector rowSums() {
+        return Vector.fromArray(ElementwiseKernels.rowSums(toArray(), x -> x));
+    }
+
+    /**
+     * @return Returns a new vector holding the sum of every column of this matrix.
+     */
+    public Vector columnSums() {
+        return Vector.fromArray(ElementwiseKernels.columnSums(toArray(), x -> x));
+    }
+
+    /**
+     * Returns a row of this matrix as a sparse vector, which is worth it when most of its elements are zero.
+     * @param index Index of the row.
+     * @return Returns a new sparse vector holding the non-zero elements of the row.
+     * @throws IndexOutOfBoundsException Throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public SparseVector getSparseRow(int index) {
+        if (index < 0 || index >= rows.size()) {
+            throw new IndexOutOfBoundsException("Row outside of the matrix.");
+        }
+
+        return SparseVector.fromDense(rows.get(index));
+    }
+
+    /**
+     * Returns a column of this matrix as a sparse vector, which is worth it when most of its elements are zero.
+     * @param index Index of the column.
+     * @return Returns a new sparse vector holding the non-zero elements of the column.
+     * @throws IndexOutOfBoundsException Throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public SparseVector getSparseColumn(int index) {
+        if (rows.isEmpty() || index < 0 || index >= getColumnCount()) {
+            throw new IndexOutOfBoundsException("Column outside of the matrix.");
+        }
+        int[] indices = new int[rows.size()];
+        double[] values = new double[rows.size()];
+        int count = 0;
+        for (int i = 0; i < rows.size(); ++i) {
+            double value = rows.get(i).getValues().get(index);
+            if (value != 0.0) {
+                indices[count] = i;
+                values[count] = value;
+                ++count;
+            }
+        }
+
+        return new SparseVector(rows.size(), Arrays.copyOf(indices, count), Arrays.copyOf(values, count));
+    }
+
     /**
      * Computes the determinant of this matrix.
      * The matrix has to be a square matrix. (NxN)
@@ -196,36 +517,8 @@ public class Matrix {
                 // top-right-to-bottom-left diagonal product.
                 return (rows.get(0).getValues().get(0) * rows.get(1).getValues().get(1)) -
                         (rows.get(0).getValues().get(1) * rows.get(1).getValues().get(0));
-            } else {  // NxN matrix: produce lower square matrices, recursively compute their determinants, then add
-                // them together with alternating signs (even is positive, odd is negative).
-                List<Matrix> lowerSquareMatrices = new ArrayList<>();
-                for (int i = 0; i < getColumnCount(); ++i) {
-                    Matrix tempMatrix = new Matrix();
-                    for (int j = 1; j < getRowCount(); ++j) {
-                        Vector tempVector = new Vector();
-                        for (int k = 0; k < getColumnCount(); ++k) {
-                            if (k != i) {
-                                tempVector.add(rows.get(j).getValues().get(k));
-                            }
-                        }
-                        tempMatrix.add(tempVector);
-                    }
-                    lowerSquareMatrices.add(tempMatrix);
-                }
-
-                boolean odd = true;
-                double result = 0.0;
-                for (int i = 0; i < getColumnCount(); ++i) {
-                    if (odd) {
-                        result += rows.get(0).getValues().get(i) * lowerSquareMatrices.get(i).determinant();
-                        odd = false;
-                    } else {
-                        result -= rows.get(0).getValues().get(i) * lowerSquareMatrices.get(i).determinant();
-                        odd = true;
-                    }
-                }
-
-                return result;
+            } else {  // NxN matrix: LU decomposition, the determinant is the signed product of the pivots.
+                return ComputeBackends.determinant(ComputeBackends.get(), toArray());
             }
         } else {
             throw new MatrixSizeMismatchException("Determinant of non-square or empty matrix.");
@@ -251,53 +544,21 @@ public class Matrix {
 
     /**
      * Computes the inverse of this matrix.
-     * The matrix's determinant has to be non-zero, which implies it has to be a non-empty square matrix.
+     * The matrix's determinant has to be non-zero, which implies it has to be a non-empty square matrix. Singularity is
+     * detected by the LU decomposition itself, as a zero pivot, so matrices whose determinant underflows or overflows,
+     * like 0.1 * I for a large N, are still inverted.
      * @return Returns a new matrix which is the inverse of this matrix.
      * @throws MatrixOperationException Throws MatrixOperationException if this matrix's determinant is zero.
-     * Additionally, the determinant computation might throw MatrixSizeMismatchException if the matrix is either empty,
-     * or a non-square matrix.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is either empty, or a
+     * non-square matrix.
      */
     public Matrix inverse() throws MatrixOperationException {
-        if (this.determinant() != 0.0) {
-            List<Matrix> minorMatrices = new ArrayList<>(); // First, produce new minor matrices, equal in number to
-            // this matrix's size (sum of elements).
-            // Where this matrix is NxN, its minor matrices are N-1xN-1,
-            // each missing a row and a column of the original.
-            for (int i = 0; i < getRowCount() * getColumnCount(); ++i) {
-                minorMatrices.add(new Matrix(this.rows));
-                minorMatrices.get(i).rows.remove(i / getColumnCount());
-                for (int j = 0; j < minorMatrices.get(i).getRowCount(); ++j) {
-                    minorMatrices.get(i).rows.get(j).getValues().remove(i % getColumnCount());
-                }
-            }
-
-            Matrix adjugateMatrix = new Matrix();  // Secondly, produce the adjugate matrix. The adjugate matrix
-            // contains the determinants of each minor matrix, positions
-            // corresponding to which element of the original matrix was used to
-            // remove the row and column it was in. It is then transposed, and
-            // its elements are multiplied by 1 with alternating signs. (Sum of
-            // coordinates is even means positive, otherwise negative.)
-            Vector temp = new Vector();
-            for (int i = 0; i < getRowCount() * getColumnCount(); ++i) {
-                temp.add(minorMatrices.get(i).determinant());
-                if (temp.getSize() == getColumnCount()) {
-                    adjugateMatrix.add(temp);
-                    temp = new Vector();
-                }
-            }
-            adjugateMatrix = adjugateMatrix.transpose();
-            for (int i = 0; i < adjugateMatrix.getRowCount(); ++i) {
-                for (int j = 0; j < adjugateMatrix.getColumnCount(); ++j) {
-                    if ((i + j) % 2 == 1) {
-                        adjugateMatrix.rows.get(i).getValues().set(j, -adjugateMatrix.rows.get(i).getValues().get(j));
-                    }
-                }
-            }
-
-            return adjugateMatrix.scalarProduct(1.0 / this.determinant());  // Lastly, the inverse matrix is produced by
-            // the scalar product of the adjugate matrix
-            // and 1 / determinant.
-        } else {
+        if (!isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Inverse of non-square or empty matrix.");
+        }
+        try {
+            return fromArray(ComputeBackends.invert(ComputeBackends.get(), toArray()));  // LU decomposition, O(N^3).
+        } catch (MatrixOperationException e) {  // Zero pivot: the matrix is singular.
             throw new MatrixOperationException("Inverse of zero determinant matrix.");
         }
     }
@@ -311,38 +572,127 @@ public class Matrix {
      */
     public Matrix choleskyDecomposition() throws MatrixOperationException {
         if (this.transpose().equals(this)) {
-            Matrix result = new Matrix();
-            Vector v = new Vector();
-            for (int i = 0; i < this.getColumnCount(); ++i) {
-                v.add(0.0);
-            }
-            for (int i = 0; i < this.getRowCount(); ++i) {
-                result.add(v);
-            }
-            for (int i = 0; i < this.getRowCount(); ++i) {
-                for (int j = 0; j <= i; ++j) {
-                    double sum = 0.0;
-                    for (int k = 0; k < j; ++k) {
-                        sum += result.rows.get(i).getValues().get(k) * result.rows.get(j).getValues().get(k);
-                    }
-                    if (i == j) {
-                        result.rows.get(j).getValues().set(j, Math.sqrt(this.rows.get(j).getValues().get(j) - sum));
-                    } else {
-                        result.rows.get(i).getValues().set(j, (1.0 / result.rows.get(j).getValues().get(j)) *
-                                (this.rows.get(i).getValues().get(j) - sum));
-                    }
-                }
-                if (result.rows.get(i).getValues().get(i) <= 0.0) {
-                    throw new MatrixOperationException("Cholesky decomposition of non-positive semi-definite matrix.");
-                }
+            double[][] result = toArray();
+            try {
+                ComputeBackends.get().choleskyDecompose(result);
+            } catch (MatrixOperationException e) {
+                throw new MatrixOperationException("Cholesky decomposition of non-positive semi-definite matrix.");
             }
 
-            return result;
+            return fromArray(result);
         } else {
             throw new MatrixOperationException("Cholesky decomposition of non-symmetrical matrix.");
         }
     }
 
+    /**
+     * Matrix-vector multiplication on primitive arrays, which lets the iterative solvers use this matrix as a linear
+     * operator.
+     * @param x Input of size getColumnCount().
+     * @param y Output of size getRowCount(), overwritten with A * x.
+     */
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < rows.size(); ++i) {
+            List<Double> row = rows.get(i).getValues();
+            double sum = 0.0;
+            for (int j = 0; j < x.length; ++j) {
+                sum += row.get(j) * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Performs blocked Householder QR decomposition on this matrix.
+     * The matrix has to have at least as many rows as columns. (NxM, N >= M)
+     * @return Returns the decomposition, which keeps Q implicitly.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty, or has fewer rows
+     * than columns.
+     */
+    public QRDecomposition qrDecomposition() throws MatrixSizeMismatchException {
+        return new QRDecomposition(this);
+    }
+
+    /**
+     * Computes every eigenvalue and eigenvector of this symmetric matrix. Only the lower triangle is read. (NxN)
+     * @return Returns the decomposition, with the eigenvalues in decreasing order.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     * @throws MatrixOperationException Throws MatrixOperationException if the iteration doesn't converge.
+     */
+    public SymmetricEigenDecomposition eigenDecomposition() throws MatrixException {
+        return new SymmetricEigenDecomposition(this);
+    }
+
+    /**
+     * Computes the eigenpairs of this symmetric matrix with the largest eigenvalues, in O(N^2 * count) after the
+     * O(N^3) reduction to tridiagonal form. Only the lower triangle is read. (NxN)
+     * @param count Number of eigenpairs to compute, between 1 and N.
+     * @return Returns the decomposition, with the eigenvalues in decreasing order.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     * @throws MatrixOperationException Throws MatrixOperationException if the iteration doesn't converge.
+     */
+    public SymmetricEigenDecomposition eigenDecomposition(int count) throws MatrixException {
+        return new SymmetricEigenDecomposition(this, count);
+    }
+
+    /**
+     * Computes a rank-k approximation of this matrix with the randomized range finder, in O(N * M * k).
+     * @param rank Rank of the approximation, at most min(N, M).
+     * @param powerIterations Number of power iterations, usually 0 to 3. More are slower and more accurate.
+     * @return Returns the approximation's factors.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if the rank is out of range, or the number of
+     * power iterations is negative.
+     */
+    public RandomizedSvd randomizedSvd(int rank, int powerIterations) throws MatrixSizeMismatchException {
+        return RandomizedSvd.decompose(this, rank, powerIterations);
+    }
+
+    /**
+     * Solves the least-squares problem: finds the vector x which minimizes ||A * x - b||, where A is this matrix.
+     * Uses QR decomposition instead of the normal equations, so the condition number isn't squared.
+     * @param b Right-hand side, its size has to match this matrix's row count.
+     * @return Returns a new vector which is the least-squares solution.
+     * @throws MatrixException Throws MatrixSizeMismatchException if the matrix has fewer rows than columns, or
+     * MatrixOperationException if it is rank deficient.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if b's size isn't the row count.
+     */
+    public Vector solveLeastSquares(Vector b) throws MatrixException, VectorSizeMismatchException {
+        return new QRDecomposition(this).solveLeastSquares(b);
+    }
+
+    private boolean hasSameDimensions(Matrix m) {
+        return rows.size() == m.rows.size() && (rows.isEmpty() || getColumnCount() == m.getColumnCount());
+    }
+
+    /**
+     * Copies the values of this matrix into a primitive two-dimensional array, row by row.
+     * @return Returns a new array of size getRowCount() x getColumnCount().
+     */
+    double[][] toArray() {
+        double[][] result = new double[getRowCount()][];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = rows.get(i).toArray();
+        }
+
+        return result;
+    }
+
+    /**
+     * Builds a matrix from a primitive two-dimensional array, row by row.
+     * @param values Array to copy from. Every row must have the same length.
+     * @return Returns a new matrix holding the given values.
+     */
+    static Matrix fromArray(double[][] values) {
+        Matrix result = new Matrix();
+        for (double[] row : values) {
+            result.rows.add(Vector.fromArray(row));
+        }
+
+        return result;
+    }
+
     @Override
     public boolean equals(Object o) {
         double delta = 0.00001;
@@ -370,6 +720,45 @@ public class Matrix {
         return true;
     }
 
+    /**
+     * Consistent with equals(), which tolerates small differences between elements: matrices which are equal within
+     * the tolerance can have any contents in common, so only the dimensions are hashed. Use fingerprint() to tell
+     * matrices apart by their exact contents.
+     */
+    @Override
+    public int hashCode() {
+        return rows.isEmpty() ? 0 : 31 * getRowCount() + getColumnCount();
+    }
+
+    /**
+     * Computes a 64-bit hash of this matrix's dimensions and exact values, in a single pass over the elements.
+     * Matrices with the same dimensions and values always share their fingerprint (0.0 and -0.0 count as the same
+     * value), and different matrices collide only with negligible probability, so it can serve as a content address.
+     * @return Returns the fingerprint of this matrix.
+     */
+    public long fingerprint() {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = mix(hash, getRowCount());
+        hash = mix(hash, rows.isEmpty() ? 0 : getColumnCount());
+        for (Vector row : rows) {
+            for (Double value : row.getValues()) {
+                hash = mix(hash, Double.doubleToLongBits(value + 0.0));
+            }
+        }
+
+        hash ^= hash >>> 33;  // Final avalanche, so every input bit affects every output bit.
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return Long.rotateLeft(hash ^ (value * 0x87C37B91114253D5L), 31) * 0x4CF5AD432745937FL;
+    }
+
     @Override
     public String toString() {
         StringBuilder strb = new StringBuilder();
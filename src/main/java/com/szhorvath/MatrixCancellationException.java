@@ -0,0 +1,8 @@
+package com.szhorvath;
+
+public class MatrixCancellationException extends MatrixException {
+
+    public MatrixCancellationException(String errorMsg) {
+        super(errorMsg);
+    }
+}
@@ -0,0 +1,213 @@
+package com.szhorvath;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The MatrixFile class gives access to a matrix stored on disk, so matrices larger than the heap can be processed tile
+ * by tile or a few rows at a time.
+ * The file holds a 16 byte header (the magic number 0x4D545258, the row count and the column count as big-endian ints,
+ * and 4 bytes of padding) followed by the elements in row-major order as big-endian doubles. Tiles are read and written
+ * with positional I/O, so several threads can read the same file at the same time.
+ */
+public class MatrixFile implements Closeable {
+    static final int MAGIC = 0x4D545258;
+    static final int HEADER_BYTES = 16;
+
+    private final FileChannel channel;
+    private final int rowCount;
+    private final int columnCount;
+
+    private MatrixFile(FileChannel channel, int rowCount, int columnCount) {
+        this.channel = channel;
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+    }
+
+    /**
+     * Creates a new file holding a zero matrix of the given dimensions, replacing any existing file.
+     * @param path Path of the file.
+     * @param rowCount Number of rows.
+     * @param columnCount Number of columns.
+     * @return Returns the file, open for reading and writing.
+     * @throws IOException Throws IOException if the file can't be created.
+     */
+    public static MatrixFile create(Path path, int rowCount, int columnCount) throws IOException {
+        if (rowCount < 0 || columnCount < 0) {
+            throw new IllegalArgumentException("Matrix file with negative dimensions.");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(rowCount).putInt(columnCount).putInt(0).flip();
+            writeFully(channel, header, 0);
+            long size = HEADER_BYTES + 8L * rowCount * columnCount;
+            if (size > HEADER_BYTES) {
+                writeFully(channel, ByteBuffer.allocate(1), size - 1);  // Extends the file, sparse where supported.
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        return new MatrixFile(channel, rowCount, columnCount);
+    }
+
+    /**
+     * Opens an existing matrix file for reading and writing.
+     * @param path Path of the file.
+     * @return Returns the file.
+     * @throws IOException Throws IOException if the file can't be opened, or isn't a matrix file.
+     */
+    public static MatrixFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+            int magic = header.getInt();
+            int rowCount = header.getInt();
+            int columnCount = header.getInt();
+            if (magic != MAGIC || rowCount < 0 || columnCount < 0 ||
+                    channel.size() < HEADER_BYTES + 8L * rowCount * columnCount) {
+                throw new IOException("Not a matrix file: " + path);
+            }
+
+            return new MatrixFile(channel, rowCount, columnCount);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a matrix into a new file.
+     * @param path Path of the file, replaced if it exists.
+     * @param m Matrix to write.
+     * @return Returns the file, open for reading and writing.
+     * @throws IOException Throws IOException if the file can't be written.
+     */
+    public static MatrixFile write(Path path, Matrix m) throws IOException {
+        double[][] values = m.toArray();
+        MatrixFile result = create(path, values.length, values.length == 0 ? 0 : values[0].length);
+        try {
+            result.writeTile(0, 0, values);
+        } catch (IOException e) {
+            result.close();
+            throw e;
+        }
+
+        return result;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Reads the whole matrix onto the heap.
+     * @return Returns a new matrix holding the file's contents.
+     * @throws IOException Throws IOException if the file can't be read.
+     */
+    public Matrix read() throws IOException {
+        return Matrix.fromArray(readTile(0, 0, rowCount, columnCount));
+    }
+
+    /**
+     * Reads consecutive rows.
+     * @param firstRow Index of the first row to read.
+     * @param count Number of rows to read.
+     * @return Returns a new count x getColumnCount() array.
+     * @throws IOException Throws IOException if the file can't be read.
+     */
+    public double[][] readRows(int firstRow, int count) throws IOException {
+        return readTile(firstRow, 0, count, columnCount);
+    }
+
+    /**
+     * Reads a rectangular tile.
+     * @param firstRow Index of the tile's first row.
+     * @param firstColumn Index of the tile's first column.
+     * @param tileRowCount Number of rows in the tile.
+     * @param tileColumnCount Number of columns in the tile.
+     * @return Returns a new tileRowCount x tileColumnCount array.
+     * @throws IOException Throws IOException if the file can't be read.
+     */
+    public double[][] readTile(int firstRow, int firstColumn, int tileRowCount, int tileColumnCount)
+            throws IOException {
+        checkTile(firstRow, firstColumn, tileRowCount, tileColumnCount);
+        double[][] result = new double[tileRowCount][tileColumnCount];
+        ByteBuffer buffer = ByteBuffer.allocate(8 * tileColumnCount);
+        DoubleBuffer doubles = buffer.asDoubleBuffer();
+        for (int i = 0; i < tileRowCount; ++i) {
+            buffer.clear();
+            readFully(channel, buffer, offset(firstRow + i, firstColumn));
+            doubles.clear();
+            doubles.get(result[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Writes a rectangular tile.
+     * @param firstRow Index of the tile's first row.
+     * @param firstColumn Index of the tile's first column.
+     * @param tile Values to write. Every row must have the same length.
+     * @throws IOException Throws IOException if the file can't be written.
+     */
+    public void writeTile(int firstRow, int firstColumn, double[][] tile) throws IOException {
+        int tileColumnCount = tile.length == 0 ? 0 : tile[0].length;
+        checkTile(firstRow, firstColumn, tile.length, tileColumnCount);
+        ByteBuffer buffer = ByteBuffer.allocate(8 * tileColumnCount);
+        DoubleBuffer doubles = buffer.asDoubleBuffer();
+        for (int i = 0; i < tile.length; ++i) {
+            doubles.clear();
+            doubles.put(tile[i]);
+            buffer.clear();
+            writeFully(channel, buffer, offset(firstRow + i, firstColumn));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long offset(int row, int column) {
+        return HEADER_BYTES + 8L * ((long) row * columnCount + column);
+    }
+
+    private void checkTile(int firstRow, int firstColumn, int tileRowCount, int tileColumnCount) {
+        if (firstRow < 0 || firstColumn < 0 || tileRowCount < 0 || tileColumnCount < 0 ||
+                (long) firstRow + tileRowCount > rowCount || (long) firstColumn + tileColumnCount > columnCount) {
+            throw new IndexOutOfBoundsException("Tile outside of the matrix file.");
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of matrix file.");
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.szhorvath;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The MatrixOperationCache class remembers the results of expensive matrix operations, keyed by the operation's name
+ * and the fingerprint of the operand, so repeated calls on matrices with the same contents are answered without
+ * computing them again.
+ * The cache is bounded by the memory its results take up, and evicts the least recently used results first. It is
+ * split into independently locked segments, so lookups from different threads rarely wait for each other, but the
+ * budget and the eviction order are global: any result up to the whole budget is cached, and the evicted result is
+ * the least recently used one of every segment. Two threads missing the same key at the same time both compute the
+ * result.
+ * Results are copied on the way in and out, so callers are free to modify both the operands and the results.
+ */
+public class MatrixOperationCache {
+    private static final int SEGMENT_COUNT = 16;
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Segment[] segments;
+    private final long maxBytes;
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maxBytes Approximate upper bound of the memory taken up by the cached results.
+     */
+    public MatrixOperationCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; ++i) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Cached Matrix::inverse.
+     * @param m Matrix to invert.
+     * @return Returns a new matrix which is the inverse of the given matrix.
+     */
+    public Matrix inverse(Matrix m) throws MatrixException {
+        return computeIfAbsent("inverse", m, Matrix::inverse);
+    }
+
+    /**
+     * Cached Matrix::determinant.
+     * @param m Matrix to compute the determinant of.
+     * @return Returns the determinant of the given matrix.
+     */
+    public double determinant(Matrix m) throws MatrixException {
+        return lookup("determinant", m, operand -> new double[][] {{operand.determinant()}})[0][0];
+    }
+
+    /**
+     * Cached Matrix::choleskyDecomposition.
+     * @param m Matrix to decompose.
+     * @return Returns a new matrix which is the Cholesky factor of the given matrix.
+     */
+    public Matrix choleskyDecomposition(Matrix m) throws MatrixException {
+        return computeIfAbsent("choleskyDecomposition", m, Matrix::choleskyDecomposition);
+    }
+
+    /**
+     * Looks up the result of an arbitrary operation, computing and caching it on a miss. Exceptions thrown by the
+     * operation are passed on and not cached.
+     * @param operation Name identifying the operation. Different operations must use different names.
+     * @param m Operand.
+     * @param compute Computes the result from the operand on a miss.
+     * @return Returns a new matrix holding the result.
+     */
+    public Matrix computeIfAbsent(String operation, Matrix m, Function<Matrix, Matrix> compute) {
+        return Matrix.fromArray(DenseKernels.copy(lookup(operation, m, operand -> compute.apply(operand).toArray())));
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return Returns the approximate memory taken up by the cached results.
+     */
+    public long getSizeInBytes() {
+        return bytes.get();
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (Entry entry : segment.values()) {
+                    bytes.addAndGet(-entry.bytes);
+                }
+                segment.clear();
+            }
+        }
+    }
+
+    private double[][] lookup(String operation, Matrix m, Function<Matrix, double[][]> compute) {
+        Key key = new Key(operation, m);
+        Segment segment = segments[(key.hashCode() >>> 16 ^ key.hashCode()) & (SEGMENT_COUNT - 1)];
+        Entry cached;
+        synchronized (segment) {
+            cached = segment.get(key);
+            if (cached != null) {
+                cached.lastUse = clock.incrementAndGet();
+            }
+        }
+        if (cached != null) {
+            hitCount.increment();
+            return cached.value;
+        }
+
+        missCount.increment();
+        double[][] result = compute.apply(m);
+        Entry entry = new Entry(result, sizeOf(result), clock.incrementAndGet());
+        if (entry.bytes <= maxBytes) {
+            synchronized (segment) {
+                Entry previous = segment.put(key, entry);  // Non-null if another thread raced us to it.
+                bytes.addAndGet(entry.bytes - (previous == null ? 0 : previous.bytes));
+            }
+            evict();
+        }
+
+        return result;
+    }
+
+    /**
+     * Evicts the least recently used results across every segment until the cache fits its budget. Each segment is
+     * access ordered, so its eldest entry is its least recently used one, and the oldest of those is the globally least
+     * recently used result. Only one segment is locked at a time.
+     */
+    private void evict() {
+        while (bytes.get() > maxBytes) {
+            Segment victim = null;
+            long oldest = Long.MAX_VALUE;
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    Iterator<Entry> eldest = segment.values().iterator();
+                    if (eldest.hasNext()) {
+                        long lastUse = eldest.next().lastUse;
+                        if (lastUse < oldest) {
+                            oldest = lastUse;
+                            victim = segment;
+                        }
+                    }
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            synchronized (victim) {
+                Iterator<Entry> eldest = victim.values().iterator();
+                if (eldest.hasNext()) {  // Another thread may have evicted it in the meantime.
+                    bytes.addAndGet(-eldest.next().bytes);
+                    eldest.remove();
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    private static long sizeOf(double[][] value) {
+        long result = ENTRY_OVERHEAD_BYTES;
+        for (double[] row : value) {
+            result += 16 + 8L * row.length;
+        }
+
+        return result;
+    }
+
+    /**
+     * Access-ordered map holding one share of the entries, guarded by its own monitor.
+     */
+    private static final class Segment extends LinkedHashMap<Key, Entry> {
+
+        Segment() {
+            super(16, 0.75f, true);
+        }
+    }
+
+    /**
+     * Cached result, with its size and the tick of the global clock it was last used at, guarded by its segment.
+     */
+    private static final class Entry {
+        private final double[][] value;
+        private final long bytes;
+        private long lastUse;
+
+        Entry(double[][] value, long bytes, long lastUse) {
+            this.value = value;
+            this.bytes = bytes;
+            this.lastUse = lastUse;
+        }
+    }
+
+    private static final class Key {
+        private final String operation;
+        private final long fingerprint;
+        private final int rowCount;
+        private final int columnCount;
+
+        Key(String operation, Matrix m) {
+            this.operation = operation;
+            this.fingerprint = m.fingerprint();
+            this.rowCount = m.getRowCount();
+            this.columnCount = rowCount == 0 ? 0 : m.getColumnCount();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+
+            return fingerprint == k.fingerprint && rowCount == k.rowCount && columnCount == k.columnCount &&
+                    operation.equals(k.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 + operation.hashCode();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.szhorvath;
+
+/**
+ * The MixedPrecisionSolver class solves A * x = b to double precision accuracy while factoring A only in single
+ * precision, which halves the memory of the factor and speeds up the O(N^3) factorization.
+ * Symmetric positive definite matrices are factored with Cholesky decomposition, everything else with LU decomposition
+ * with partial pivoting. Each solve starts from the single precision solution and refines it: the residual
+ * r = b - A * x is computed in double precision against the original matrix, the correction is solved with the single
+ * precision factor, and added to x. If that doesn't reach double precision accuracy, because A is too ill-conditioned
+ * for single precision, the solver falls back to a double precision LU decomposition, which is kept for later solves.
+ */
+public class MixedPrecisionSolver {
+    private static final int DEFAULT_MAX_ITERATIONS = 30;
+
+    private final double[][] matrix;
+    private final double matrixNorm;
+    private float[][] lowFactor;
+    private int[] lowPivots;
+    private boolean cholesky;
+    private double[][] doubleFactor;
+    private int[] doublePivots;
+    private int maxIterations = DEFAULT_MAX_ITERATIONS;
+    private int iterationCount;
+
+    /**
+     * Constructor to factor the given matrix in single precision.
+     * @param m Square matrix to factor. Its values are copied.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix is singular.
+     */
+    public MixedPrecisionSolver(Matrix m) throws MatrixException {
+        if (!m.isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Mixed precision solve with non-square or empty matrix.");
+        }
+        matrix = m.toArray();
+        double norm = 0.0;
+        for (double[] row : matrix) {
+            double rowSum = 0.0;
+            for (double value : row) {
+                rowSum += Math.abs(value);
+            }
+            norm = Math.max(norm, rowSum);
+        }
+        matrixNorm = norm;
+
+        if (!fitsSinglePrecision()) {
+            factorDouble();
+        } else if (isSymmetric() && factorCholesky()) {
+            cholesky = true;
+        } else if (!factorLu()) {
+            factorDouble();
+        }
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * @param maxIterations Number of refinement steps after which the solver falls back to double precision.
+     */
+    public void setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * @return Returns whether the single precision factor is a Cholesky factor rather than an LU decomposition.
+     */
+    public boolean isCholesky() {
+        return cholesky;
+    }
+
+    /**
+     * @return Returns whether the solver has fallen back to a double precision factorization.
+     */
+    public boolean isDoubleFallback() {
+        return doubleFactor != null;
+    }
+
+    /**
+     * @return Returns the number of refinement steps the last solve took.
+     */
+    public int getIterationCount() {
+        return iterationCount;
+    }
+
+    /**
+     * Solves A * x = b.
+     * Refinement stops once ||r|| <= ||x|| * ||A|| * eps * sqrt(N) in the infinity norm, eps being the double
+     * precision machine epsilon.
+     * @param b Right-hand side, of size N.
+     * @return Returns a new vector which is the solution x.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector's size isn't N.
+     * @throws MatrixOperationException Throws MatrixOperationException if the fallback finds the matrix singular.
+     */
+    public Vector solve(Vector b) throws MatrixException, VectorSizeMismatchException {
+        int n = matrix.length;
+        if (b.getSize() != n) {
+            throw new VectorSizeMismatchException("Mixed precision solve with different sized vector.");
+        }
+        double[] rhs = b.toArray();
+        iterationCount = 0;
+        if (doubleFactor != null) {
+            return Vector.fromArray(ComputeBackends.get().luSolve(doubleFactor, doublePivots, rhs));
+        }
+
+        double threshold = matrixNorm * Math.ulp(1.0) * Math.sqrt(n);
+        double[] x = solveLow(rhs);
+        double[] r = new double[n];
+        while (iterationCount < maxIterations) {
+            double residualNorm = 0.0;
+            double solutionNorm = 0.0;
+            for (int i = 0; i < n; ++i) {
+                double[] row = matrix[i];
+                double sum = rhs[i];
+                for (int j = 0; j < n; ++j) {
+                    sum -= row[j] * x[j];
+                }
+                r[i] = sum;
+                residualNorm = Math.max(residualNorm, Math.abs(sum));
+                solutionNorm = Math.max(solutionNorm, Math.abs(x[i]));
+            }
+            if (!Double.isFinite(residualNorm)) {
+                break;
+            }
+            if (residualNorm <= solutionNorm * threshold) {
+                return Vector.fromArray(x);
+            }
+            Cancellation.checkpoint();
+            double[] correction = solveLow(r);
+            for (int i = 0; i < n; ++i) {
+                x[i] += correction[i];
+            }
+            ++iterationCount;
+        }
+
+        factorDouble();
+        return Vector.fromArray(ComputeBackends.get().luSolve(doubleFactor, doublePivots, rhs));
+    }
+
+    private boolean fitsSinglePrecision() {
+        for (double[] row : matrix) {
+            for (double value : row) {
+                if (Math.abs(value) > Float.MAX_VALUE) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isSymmetric() {
+        for (int i = 0; i < matrix.length; ++i) {
+            for (int j = 0; j < i; ++j) {
+                if (matrix[i][j] != matrix[j][i]) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void factorDouble() throws MatrixOperationException {
+        double[][] lu = DenseKernels.copy(matrix);
+        int[] pivots = new int[lu.length];
+        ComputeBackends.get().luDecompose(lu, pivots);
+        doubleFactor = lu;
+        doublePivots = pivots;
+        lowFactor = null;
+    }
+
+    /**
+     * Single precision Cholesky decomposition, lower triangle stored by rows.
+     * @return Returns false if the matrix isn't positive definite in single precision.
+     */
+    private boolean factorCholesky() {
+        int n = matrix.length;
+        float[][] l = new float[n][];
+        for (int i = 0; i < n; ++i) {
+            Cancellation.checkpoint();
+            float[] row = new float[i + 1];
+            for (int j = 0; j <= i; ++j) {
+                float[] other = l[j] == null ? row : l[j];
+                float sum = (float) matrix[i][j];
+                for (int k = 0; k < j; ++k) {
+                    sum -= row[k] * other[k];
+                }
+                if (i == j) {
+                    if (!(sum > 0.0f)) {
+                        return false;
+                    }
+                    row[i] = (float) Math.sqrt(sum);
+                } else {
+                    row[j] = sum / other[j];
+                }
+            }
+            l[i] = row;
+        }
+        lowFactor = l;
+
+        return true;
+    }
+
+    /**
+     * Single precision LU decomposition with partial pivoting, same layout as DenseKernels.luDecompose().
+     * @return Returns false if the matrix is singular in single precision.
+     */
+    private boolean factorLu() {
+        int n = matrix.length;
+        float[][] a = new float[n][n];
+        int[] pivots = new int[n];
+        for (int i = 0; i < n; ++i) {
+            pivots[i] = i;
+            for (int j = 0; j < n; ++j) {
+                a[i][j] = (float) matrix[i][j];
+            }
+        }
+        for (int col = 0; col < n; ++col) {
+            Cancellation.checkpoint();
+            int pivot = col;
+            for (int i = col + 1; i < n; ++i) {
+                if (Math.abs(a[i][col]) > Math.abs(a[pivot][col])) {
+                    pivot = i;
+                }
+            }
+            if (a[pivot][col] == 0.0f) {
+                return false;
+            }
+            float[] temp = a[col];
+            a[col] = a[pivot];
+            a[pivot] = temp;
+            int tempPivot = pivots[col];
+            pivots[col] = pivots[pivot];
+            pivots[pivot] = tempPivot;
+
+            float[] pivotRow = a[col];
+            for (int i = col + 1; i < n; ++i) {
+                float[] row = a[i];
+                float factor = row[col] / pivotRow[col];
+                row[col] = factor;
+                for (int j = col + 1; j < n; ++j) {
+                    row[j] -= factor * pivotRow[j];
+                }
+            }
+        }
+        lowFactor = a;
+        lowPivots = pivots;
+
+        return true;
+    }
+
+    /**
+     * Solves with the single precision factor. The right-hand side is rounded to single precision after scaling by
+     * its largest element, so small residuals don't underflow.
+     */
+    private double[] solveLow(double[] b) {
+        int n = b.length;
+        double scale = 0.0;
+        for (double value : b) {
+            scale = Math.max(scale, Math.abs(value));
+        }
+        if (scale == 0.0) {
+            return new double[n];
+        }
+        float[] x = new float[n];
+        if (cholesky) {
+            for (int i = 0; i < n; ++i) {
+                float[] row = lowFactor[i];
+                float sum = (float) (b[i] / scale);
+                for (int k = 0; k < i; ++k) {
+                    sum -= row[k] * x[k];
+                }
+                x[i] = sum / row[i];
+            }
+            for (int i = n - 1; i >= 0; --i) {
+                float[] row = lowFactor[i];
+                x[i] /= row[i];
+                float xi = x[i];
+                for (int k = 0; k < i; ++k) {
+                    x[k] -= row[k] * xi;
+                }
+            }
+        } else {
+            for (int i = 0; i < n; ++i) {
+                float[] row = lowFactor[i];
+                float sum = (float) (b[lowPivots[i]] / scale);
+                for (int j = 0; j < i; ++j) {
+                    sum -= row[j] * x[j];
+                }
+                x[i] = sum;
+            }
+            for (int i = n - 1; i >= 0; --i) {
+                float[] row = lowFactor[i];
+                float sum = x[i];
+                for (int j = i + 1; j < n; ++j) {
+                    sum -= row[j] * x[j];
+                }
+                x[i] = sum / row[i];
+            }
+        }
+
+        double[] result = new double[n];
+        for (int i = 0; i < n; ++i) {
+            result[i] = scale * x[i];
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,131 @@
+package com.szhorvath;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The MultiplicationWorker class serves block multiplications to a DistributedMultiplier over localhost sockets.
+ * It can run inside the coordinator's JVM, or as a separate process through main(), which is how WorkerLauncher
+ * starts it.
+ * Protocol, per connection: the coordinator sends MULTIPLY, the block dimensions N, M and B, then the NxM block of the
+ * left operand and the MxB block of the right operand, row by row; the worker answers with the NxB product, row by
+ * row. CLOSE ends the connection.
+ */
+public class MultiplicationWorker implements Closeable {
+    static final int CLOSE = 0;
+    static final int MULTIPLY = 1;
+
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Empty constructor. Binds to a free port on the loopback interface, and starts accepting connections.
+     * @throws IOException Throws IOException if the port can't be bound.
+     */
+    public MultiplicationWorker() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptConnections, "multiplication-worker-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Starts a worker process. Prints the bound port to the standard output as "PORT n", then serves until the
+     * standard input is closed.
+     * @param args Unused.
+     * @throws IOException Throws IOException if the port can't be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        MultiplicationWorker worker = new MultiplicationWorker();
+        System.out.println("PORT " + worker.getPort());
+        System.out.flush();
+        while (System.in.read() != -1) {
+            // The launcher never writes to the worker, end of input means it has gone away.
+        }
+        worker.close();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections and drops the open ones, as if the worker had crashed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!closed) {
+            try {
+                Socket connection = serverSocket.accept();
+                connections.add(connection);
+                Thread handler = new Thread(() -> serve(connection), "multiplication-worker-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (Socket socket = connection;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (in.readInt() == MULTIPLY) {
+                int rows = in.readInt();
+                int inner = in.readInt();
+                int columns = in.readInt();
+                double[][] a = readBlock(in, rows, inner);
+                double[][] b = readBlock(in, inner, columns);
+                double[][] c = new double[rows][columns];
+                ComputeBackends.get().gemm(1.0, a, b, 0.0, c);
+                writeBlock(out, c);
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // The coordinator went away without sending CLOSE.
+        } catch (IOException e) {
+            // Dropped connection, nothing to clean up beyond the socket.
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    static double[][] readBlock(DataInputStream in, int rows, int columns) throws IOException {
+        double[][] result = new double[rows][columns];
+        for (double[] row : result) {
+            for (int j = 0; j < columns; ++j) {
+                row[j] = in.readDouble();
+            }
+        }
+
+        return result;
+    }
+
+    static void writeBlock(DataOutputStream out, double[][] block) throws IOException {
+        for (double[] row : block) {
+            for (double value : row) {
+                out.writeDouble(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.szhorvath;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The OutOfCoreMultiplier class multiplies matrices stored in MatrixFiles which don't fit on the heap.
+ * The product C = A * B is computed one square tile of C at a time: the tile is accumulated from the products of a
+ * row of tiles of A with a column of tiles of B, then written to the output file, in row-major tile order. While a pair
+ * of tiles is multiplied, a background thread already reads the next pair, so the disk and the cores work at the same
+ * time. The tile size is the largest one for which the tiles alive at once (a pair being multiplied, a pair being read
+ * and the tile of C) fit into the memory budget.
+ * The elements of C are accumulated in the same order as by Matrix::multiplyMatrix, so the results are identical.
+ */
+public class OutOfCoreMultiplier {
+    private static final int LIVE_TILES = 5;
+
+    private final int tileSize;
+    private long readNanos;
+    private long writeNanos;
+    private long waitNanos;
+    private long computeNanos;
+    private long bytesRead;
+    private long bytesWritten;
+
+    /**
+     * @param memoryBudget Number of bytes the tiles may take up on the heap.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if the budget can't hold 1x1 tiles.
+     */
+    public OutOfCoreMultiplier(long memoryBudget) {
+        long size = (long) Math.sqrt(memoryBudget / (8.0 * LIVE_TILES));
+        if (size < 1) {
+            throw new IllegalArgumentException("Memory budget too small for out-of-core multiplication.");
+        }
+        tileSize = (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Multiplies two matrix files. (NxM * MxB)
+     * @param a Left operand.
+     * @param b Right operand.
+     * @param output Path of the file to write the product to, replaced if it exists.
+     * @return Returns the file holding the product, open for reading and writing.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the left operand's column count isn't
+     * equal to the right operand's row count.
+     * @throws IOException Throws IOException if reading the operands or writing the product fails.
+     */
+    public MatrixFile multiply(MatrixFile a, MatrixFile b, Path output) throws IOException {
+        if (a.getColumnCount() != b.getRowCount()) {
+            throw new MatrixSizeMismatchException("Multiplication of matrices where the first matrix's column count "
+                    + "isn't equal to the second's row count.");
+        }
+        readNanos = 0;
+        writeNanos = 0;
+        waitNanos = 0;
+        computeNanos = 0;
+        bytesRead = 0;
+        bytesWritten = 0;
+
+        int rowTiles = tileCount(a.getRowCount());
+        int innerTiles = tileCount(a.getColumnCount());
+        int columnTiles = tileCount(b.getColumnCount());
+        MatrixFile result = MatrixFile.create(output, a.getRowCount(), b.getColumnCount());
+        ExecutorService reader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matrix-file-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long pairCount = (long) rowTiles * columnTiles * innerTiles;
+            Future<double[][][]> next = pairCount == 0 ? null : reader.submit(() -> readPair(a, b, 0, innerTiles,
+                    columnTiles));
+            for (long pair = 0; pair < pairCount; pair += innerTiles) {
+                int rowTile = (int) (pair / ((long) innerTiles * columnTiles));
+                int columnTile = (int) (pair / innerTiles % columnTiles);
+                double[][] c = new double[extent(rowTile, a.getRowCount())][extent(columnTile, b.getColumnCount())];
+                for (int k = 0; k < innerTiles; ++k) {
+                    Cancellation.checkpoint();
+                    long start = System.nanoTime();
+                    double[][][] tiles = next.get();
+                    waitNanos += System.nanoTime() - start;
+                    long following = pair + k + 1;
+                    next = following == pairCount ? null : reader.submit(() -> readPair(a, b, following, innerTiles,
+                            columnTiles));
+
+                    start = System.nanoTime();
+                    ComputeBackends.get().gemm(1.0, tiles[0], tiles[1], 1.0, c);
+                    computeNanos += System.nanoTime() - start;
+                }
+
+                long start = System.nanoTime();
+                result.writeTile(rowTile * tileSize, columnTile * tileSize, c);
+                writeNanos += System.nanoTime() - start;
+                bytesWritten += 8L * c.length * (c.length == 0 ? 0 : c[0].length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.close();
+            throw new IOException("Out-of-core multiplication interrupted.", e);
+        } catch (ExecutionException e) {
+            result.close();
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Reading tiles failed.", e.getCause());
+        } catch (IOException | RuntimeException e) {
+            result.close();
+            throw e;
+        } finally {
+            reader.shutdownNow();
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Returns the time the last multiplication spent reading tiles on the background thread, in nanoseconds.
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    /**
+     * @return Returns the time the last multiplication spent writing tiles of the product, in nanoseconds.
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    /**
+     * @return Returns the time the last multiplication spent waiting for tiles which weren't read ahead in time, in
+     * nanoseconds. Reading which overlapped computation doesn't count.
+     */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * @return Returns the time the last multiplication spent multiplying tiles, in nanoseconds.
+     */
+    public long getComputeNanos() {
+        return computeNanos;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Reads the pair-th pair of tiles. Pairs are numbered by tile of C in row-major order, then by the inner tile.
+     * Only runs on the reader thread, one pair at a time, which is what guards readNanos and bytesRead.
+     */
+    private double[][][] readPair(MatrixFile a, MatrixFile b, long pair, int innerTiles, int columnTiles)
+            throws IOException {
+        long start = System.nanoTime();
+        int rowTile = (int) (pair / ((long) innerTiles * columnTiles));
+        int columnTile = (int) (pair / innerTiles % columnTiles);
+        int innerTile = (int) (pair % innerTiles);
+        int rows = extent(rowTile, a.getRowCount());
+        int inner = extent(innerTile, a.getColumnCount());
+        int columns = extent(columnTile, b.getColumnCount());
+        double[][] left = a.readTile(rowTile * tileSize, innerTile * tileSize, rows, inner);
+        double[][] right = b.readTile(innerTile * tileSize, columnTile * tileSize, inner, columns);
+        readNanos += System.nanoTime() - start;
+        bytesRead += 8L * inner * (rows + columns);
+
+        return new double[][][] {left, right};
+    }
+
+    private int tileCount(int size) {
+        return (int) ((size + (long) tileSize - 1) / tileSize);
+    }
+
+    private int extent(int tile, int size) {
+        return Math.min(tileSize, size - tile * tileSize);
+    }
+}
@@ -0,0 +1,132 @@
+package com.szhorvath;
+
+/**
+ * The PackedSymmetricMatrix class holds a symmetric matrix by storing only its lower triangle, packed row by row into
+ * a single array, which takes about half the memory of the full matrix. Element (i, j) with j <= i is stored at index
+ * i * (i + 1) / 2 + j, and element (j, i) is the same value.
+ * Instances are immutable.
+ */
+public class PackedSymmetricMatrix {
+    private final int size;
+    private final double[] values;
+
+    /**
+     * @param size Number of rows and columns.
+     * @param values Lower triangle packed by rows, of length size * (size + 1) / 2. Not copied.
+     */
+    PackedSymmetricMatrix(int size, double[] values) {
+        this.size = size;
+        this.values = values;
+    }
+
+    /**
+     * Packs the lower triangle of a matrix. The upper triangle isn't read, so the matrix is assumed to be symmetric.
+     * @param m Square matrix to pack.
+     * @return Returns a new packed matrix.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     */
+    public static PackedSymmetricMatrix fromLowerTriangle(Matrix m) throws MatrixSizeMismatchException {
+        if (!m.isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Packing of non-square or empty matrix.");
+        }
+        double[][] a = m.toArray();
+        int n = a.length;
+        double[] values = new double[(int) ((long) n * (n + 1) / 2)];
+        int index = 0;
+        for (int i = 0; i < n; ++i) {
+            System.arraycopy(a[i], 0, values, index, i + 1);
+            index += i + 1;
+        }
+
+        return new PackedSymmetricMatrix(n, values);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @param row Row index.
+     * @param column Column index.
+     * @return Returns the element in the given row and column.
+     * @throws IndexOutOfBoundsException Throws IndexOutOfBoundsException if an index is outside of the matrix.
+     */
+    public double get(int row, int column) {
+        if (row < 0 || column < 0 || row >= size || column >= size) {
+            throw new IndexOutOfBoundsException("Element outside of the matrix.");
+        }
+
+        return row >= column ? values[index(row, column)] : values[index(column, row)];
+    }
+
+    /**
+     * Unpacks this matrix.
+     * @return Returns a new, full NxN matrix.
+     */
+    public Matrix toMatrix() {
+        return Matrix.fromArray(toArray());
+    }
+
+    double[][] toArray() {
+        double[][] result = new double[size][size];
+        int index = 0;
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                result[i][j] = values[index];
+                result[j][i] = values[index];
+                ++index;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Returns the packed lower triangle itself, not a copy.
+     */
+    double[] values() {
+        return values;
+    }
+
+    private static int index(int row, int column) {
+        return (int) ((long) row * (row + 1) / 2) + column;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        double delta = 0.00001;
+
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof PackedSymmetricMatrix)) {
+            return false;
+        }
+
+        PackedSymmetricMatrix m = (PackedSymmetricMatrix) o;
+        if (size != m.size) {
+            return false;
+        }
+        for (int i = 0; i < values.length; ++i) {
+            if (Math.abs(values[i] - m.values[i]) >= delta) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Consistent with equals(), which tolerates small differences between elements: only the size is hashed.
+     */
+    @Override
+    public int hashCode() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return toMatrix().toString();
+    }
+}
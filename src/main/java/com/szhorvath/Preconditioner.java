@@ -0,0 +1,15 @@
+package com.szhorvath;
+
+/**
+ * The Preconditioner interface describes an approximation M of a square operator A, which is cheap to invert and is
+ * used by the iterative solvers to reduce the number of iterations.
+ */
+public interface Preconditioner {
+
+    /**
+     * Computes z = M^-1 * r.
+     * @param r Input residual. Must not be modified.
+     * @param z Output of the same size. Its previous contents are overwritten.
+     */
+    void apply(double[] r, double[] z);
+}
@@ -0,0 +1,382 @@
+package com.szhorvath;
+
+/**
+ * The QRDecomposition class computes the QR decomposition A = Q * R of a matrix with at least as many rows as columns,
+ * and solves least-squares problems with it.
+ * The factorization is blocked: each panel of columns is reduced with Householder reflections, which are then combined
+ * into the compact WY form I - V * T * VT and applied to the rest of the matrix as matrix products. Q is never formed;
+ * it is kept as the Householder vectors below the diagonal of R, and applied implicitly.
+ */
+public class QRDecomposition {
+    private final double[][] qr;
+    private final double[] tau;
+    private final int rowCount;
+    private final int columnCount;
+
+    /**
+     * Constructor to decompose the given matrix.
+     * @param m Matrix to decompose. Its row count has to be at least its column count. (NxM, N >= M)
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty, or has fewer rows
+     * than columns.
+     */
+    public QRDecomposition(Matrix m) throws MatrixSizeMismatchException {
+        this(checkedArray(m), KernelParameters.current().getQrBlockSize());
+    }
+
+    /**
+     * Constructor to decompose the given array in place.
+     * @param a Array to decompose, NxM with N >= M. It is overwritten with the decomposition.
+     * @param blockSize Number of columns reduced per panel.
+     */
+    QRDecomposition(double[][] a, int blockSize) {
+        qr = a;
+        rowCount = a.length;
+        columnCount = a[0].length;
+        tau = new double[columnCount];
+        for (int start = 0; start < columnCount; start += blockSize) {
+            int end = Math.min(start + blockSize, columnCount);
+            factorPanel(start, end);
+            if (end < columnCount) {
+                applyBlockReflector(start, end, blockFactor(start, end));
+            }
+        }
+    }
+
+    private static double[][] checkedArray(Matrix m) throws MatrixSizeMismatchException {
+        if (m.getRowCount() == 0 || m.getRowCount() < m.getColumnCount()) {
+            throw new MatrixSizeMismatchException("QR decomposition of empty matrix or matrix with fewer rows than "
+                    + "columns.");
+        }
+
+        return m.toArray();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * @return Returns whether every diagonal element of R is non-zero.
+     */
+    public boolean isFullRank() {
+        for (int j = 0; j < columnCount; ++j) {
+            if (qr[j][j] == 0.0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Returns a new MxM upper triangular matrix which is R in the following formula: A = Q * R.
+     */
+    public Matrix getR() {
+        return Matrix.fromArray(r());
+    }
+
+    /**
+     * Forms the thin Q explicitly. Prefer applyQTranspose() and solveLeastSquares(), which never form it.
+     * @return Returns a new NxM matrix with orthonormal columns which is Q in the following formula: A = Q * R.
+     */
+    public Matrix getQ() {
+        return Matrix.fromArray(thinQ());
+    }
+
+    /**
+     * Computes QT * b without forming Q.
+     * @param b Vector of size N.
+     * @return Returns a new vector of size N.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector's size isn't N.
+     */
+    public Vector applyQTranspose(Vector b) throws VectorSizeMismatchException {
+        if (b.getSize() != rowCount) {
+            throw new VectorSizeMismatchException("QR application to different sized vector.");
+        }
+        double[][] column = columnOf(b);
+        applyQTranspose(column);
+
+        return Vector.fromArray(flatten(column, rowCount));
+    }
+
+    /**
+     * Solves the least-squares problem: minimizes ||A * x - b||.
+     * @param b Right-hand side, of size N.
+     * @return Returns a new vector of size M which is the least-squares solution x.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector's size isn't N.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix is rank deficient.
+     */
+    public Vector solveLeastSquares(Vector b) throws MatrixException, VectorSizeMismatchException {
+        if (b.getSize() != rowCount) {
+            throw new VectorSizeMismatchException("Least squares with different sized vector.");
+        }
+
+        return Vector.fromArray(flatten(solveLeastSquares(columnOf(b)), columnCount));
+    }
+
+    /**
+     * Solves the least-squares problem for several right-hand sides at once: minimizes ||A * X - B||.
+     * @param b Right-hand sides as the columns of an NxK matrix.
+     * @return Returns a new MxK matrix which is the least-squares solution X.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix's row count isn't N.
+     * @throws MatrixOperationException Throws MatrixOperationException if the matrix is rank deficient.
+     */
+    public Matrix solveLeastSquares(Matrix b) throws MatrixException {
+        if (b.getRowCount() != rowCount) {
+            throw new MatrixSizeMismatchException("Least squares with different sized matrix.");
+        }
+
+        return Matrix.fromArray(solveLeastSquares(b.toArray()));
+    }
+
+    double[][] r() {
+        double[][] result = new double[columnCount][columnCount];
+        for (int i = 0; i < columnCount; ++i) {
+            System.arraycopy(qr[i], i, result[i], i, columnCount - i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Forms the thin Q by applying the reflections in reverse order to the first M columns of the identity.
+     */
+    double[][] thinQ() {
+        double[][] result = new double[rowCount][columnCount];
+        for (int j = 0; j < columnCount; ++j) {
+            result[j][j] = 1.0;
+        }
+        double[] w = new double[columnCount];
+        for (int j = columnCount - 1; j >= 0; --j) {
+            applyReflector(j, result, j, w);
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes QT * b in place, one Householder reflection at a time.
+     * @param b NxK array.
+     */
+    void applyQTranspose(double[][] b) {
+        double[] w = new double[b[0].length];
+        for (int j = 0; j < columnCount; ++j) {
+            applyReflector(j, b, 0, w);
+        }
+    }
+
+    /**
+     * Solves R * X = (QT * B)[0..M-1] by back substitution.
+     * @param b NxK array. It is overwritten.
+     * @return Returns a new MxK array.
+     */
+    double[][] solveLeastSquares(double[][] b) throws MatrixOperationException {
+        if (!isFullRank()) {
+            throw new MatrixOperationException("Least squares with rank deficient matrix.");
+        }
+        applyQTranspose(b);
+        int k = b[0].length;
+        double[][] x = new double[columnCount][];
+        for (int i = columnCount - 1; i >= 0; --i) {
+            double[] row = b[i];
+            double[] rRow = qr[i];
+            for (int j = i + 1; j < columnCount; ++j) {
+                double rij = rRow[j];
+                double[] xRow = x[j];
+                for (int c = 0; c < k; ++c) {
+                    row[c] -= rij * xRow[c];
+                }
+            }
+            for (int c = 0; c < k; ++c) {
+                row[c] /= rRow[i];
+            }
+            x[i] = row;
+        }
+
+        return x;
+    }
+
+    /**
+     * Unblocked Householder reduction of the columns [start, end). The reflections are applied only within the panel.
+     */
+    private void factorPanel(int start, int end) {
+        double[] w = new double[end - start];
+        for (int j = start; j < end; ++j) {
+            Cancellation.checkpoint();
+            double sigma = 0.0;
+            for (int i = j + 1; i < rowCount; ++i) {
+                sigma += qr[i][j] * qr[i][j];
+            }
+            double alpha = qr[j][j];
+            if (sigma == 0.0) {  // Nothing to annihilate below the diagonal.
+                tau[j] = 0.0;
+                continue;
+            }
+            double beta = -Math.copySign(Math.sqrt(alpha * alpha + sigma), alpha);
+            tau[j] = (beta - alpha) / beta;
+            double scale = 1.0 / (alpha - beta);
+            for (int i = j + 1; i < rowCount; ++i) {
+                qr[i][j] *= scale;
+            }
+            qr[j][j] = beta;
+
+            if (j + 1 < end) {  // w = vT * A[j.., j+1..end), then A -= tau * v * w
+                int width = end - j - 1;
+                for (int c = 0; c < width; ++c) {
+                    w[c] = qr[j][j + 1 + c];
+                }
+                for (int i = j + 1; i < rowCount; ++i) {
+                    double vi = qr[i][j];
+                    double[] row = qr[i];
+                    for (int c = 0; c < width; ++c) {
+                        w[c] += vi * row[j + 1 + c];
+                    }
+                }
+                for (int c = 0; c < width; ++c) {
+                    w[c] *= tau[j];
+                    qr[j][j + 1 + c] -= w[c];
+                }
+                for (int i = j + 1; i < rowCount; ++i) {
+                    double vi = qr[i][j];
+                    double[] row = qr[i];
+                    for (int c = 0; c < width; ++c) {
+                        row[j + 1 + c] -= vi * w[c];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the upper triangular T of the compact WY form, so that H(start) * ... * H(end - 1) = I - V * T * VT.
+     * T(0..p-1, p) = -tau(p) * T(0..p-1, 0..p-1) * VT(0..p-1) * v(p)
+     */
+    private double[][] blockFactor(int start, int end) {
+        int width = end - start;
+        double[][] gram = new double[width][width];  // VT * V, upper triangle, computed in a single pass over the rows.
+        for (int i = start; i < rowCount; ++i) {
+            double[] row = qr[i];
+            int limit = Math.min(i - start, width - 1);
+            for (int p = 0; p <= limit; ++p) {
+                double vp = (i == start + p) ? 1.0 : row[start + p];
+                for (int q = p; q < width; ++q) {
+                    double vq = (i == start + q) ? 1.0 : (i > start + q ? row[start + q] : 0.0);
+                    gram[p][q] += vp * vq;
+                }
+            }
+        }
+
+        double[][] t = new double[width][width];
+        for (int p = 0; p < width; ++p) {
+            double tauP = tau[start + p];
+            t[p][p] = tauP;
+            for (int r = 0; r < p; ++r) {
+                double sum = 0.0;
+                for (int q = r; q < p; ++q) {
+                    sum += t[r][q] * gram[q][p];
+                }
+                t[r][p] = -tauP * sum;
+            }
+        }
+
+        return t;
+    }
+
+    /**
+     * Applies (I - V * T * VT)T = I - V * TT * VT to the trailing columns [end, M) as three matrix products:
+     * W = VT * C, W = TT * W, C -= V * W.
+     */
+    private void applyBlockReflector(int start, int end, double[][] t) {
+        int width = end - start;
+        int trailing = columnCount - end;
+        double[][] w = new double[width][trailing];
+        for (int i = start; i < rowCount; ++i) {
+            double[] row = qr[i];
+            int limit = Math.min(i - start, width - 1);
+            for (int p = 0; p <= limit; ++p) {
+                double vp = (i == start + p) ? 1.0 : row[start + p];
+                double[] wRow = w[p];
+                for (int c = 0; c < trailing; ++c) {
+                    wRow[c] += vp * row[end + c];
+                }
+            }
+        }
+
+        double[][] tw = new double[width][trailing];
+        for (int p = 0; p < width; ++p) {
+            double[] twRow = tw[p];
+            for (int q = 0; q <= p; ++q) {  // TT is lower triangular.
+                double tqp = t[q][p];
+                double[] wRow = w[q];
+                for (int c = 0; c < trailing; ++c) {
+                    twRow[c] += tqp * wRow[c];
+                }
+            }
+        }
+
+        for (int i = start; i < rowCount; ++i) {
+            double[] row = qr[i];
+            int limit = Math.min(i - start, width - 1);
+            for (int p = 0; p <= limit; ++p) {
+                double vp = (i == start + p) ? 1.0 : row[start + p];
+                double[] twRow = tw[p];
+                for (int c = 0; c < trailing; ++c) {
+                    row[end + c] -= vp * twRow[c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the j-th reflection H = I - tau * v * vT to the columns [fromColumn, K) of b.
+     */
+    private void applyReflector(int j, double[][] b, int fromColumn, double[] w) {
+        if (tau[j] == 0.0) {
+            return;
+        }
+        int k = b[0].length;
+        for (int c = fromColumn; c < k; ++c) {
+            w[c] = b[j][c];
+        }
+        for (int i = j + 1; i < rowCount; ++i) {
+            double vi = qr[i][j];
+            double[] row = b[i];
+            for (int c = fromColumn; c < k; ++c) {
+                w[c] += vi * row[c];
+            }
+        }
+        for (int c = fromColumn; c < k; ++c) {
+            w[c] *= tau[j];
+            b[j][c] -= w[c];
+        }
+        for (int i = j + 1; i < rowCount; ++i) {
+            double vi = qr[i][j];
+            double[] row = b[i];
+            for (int c = fromColumn; c < k; ++c) {
+                row[c] -= vi * w[c];
+            }
+        }
+    }
+
+    private static double[][] columnOf(Vector b) {
+        double[][] result = new double[b.getSize()][1];
+        for (int i = 0; i < result.length; ++i) {
+            result[i][0] = b.getValues().get(i);
+        }
+
+        return result;
+    }
+
+    private static double[] flatten(double[][] column, int size) {
+        double[] result = new double[size];
+        for (int i = 0; i < size; ++i) {
+            result[i] = column[i][0];
+        }
+
+        return result;
+    }
+}
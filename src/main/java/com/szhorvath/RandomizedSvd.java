@@ -0,0 +1,305 @@
+package com.szhorvath;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The RandomizedSvd class computes a rank-k approximation A ~ U * S * VT of an NxM matrix with the randomized range
+ * finder: the range of A is sampled by multiplying it with a few more than k random Gaussian vectors, the samples are
+ * orthonormalized with a thin QR decomposition, and the SVD of A projected onto them is computed exactly. The cost is
+ * O(N * M * k) instead of the O(N * M * min(N, M)) of a full decomposition.
+ * Power iterations sharpen the approximation of matrices whose singular values decay slowly: each one replaces the
+ * samples by AT * A times them. The product A * Q is orthonormalized before AT is applied, and AT * (A * Q) again
+ * afterwards, because forming AT * A in one go would lose the singular values below sqrt(eps) times the largest one.
+ * The matrix is only read as a stream of row blocks, in 2 + 2 * powerIterations passes, so it doesn't have to fit in
+ * memory when it's read from a MatrixFile: only the NxK and MxK samples are held. Products and QR decompositions run
+ * on the compute backend in use.
+ */
+public class RandomizedSvd {
+    static final int DEFAULT_OVERSAMPLING = 10;
+    static final long DEFAULT_SEED = 0x5EEDL;
+    private static final int BLOCK_ELEMENTS = 1 << 20;
+    private static final int MAX_JACOBI_SWEEPS = 60;
+
+    private final double[][] u;
+    private final double[] singularValues;
+    private final double[][] v;
+
+    private RandomizedSvd(double[][] u, double[] singularValues, double[][] v) {
+        this.u = u;
+        this.singularValues = singularValues;
+        this.v = v;
+    }
+
+    /**
+     * Computes a rank-k approximation of a matrix on the heap.
+     * @param m Matrix to approximate, NxM.
+     * @param rank Rank of the approximation, at most min(N, M).
+     * @param powerIterations Number of power iterations, usually 0 to 3.
+     * @return Returns the approximation.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if the rank or the number of power iterations
+     * is out of range.
+     */
+    public static RandomizedSvd decompose(Matrix m, int rank, int powerIterations) throws MatrixSizeMismatchException {
+        if (m.getRowCount() == 0) {
+            throw new MatrixSizeMismatchException("Randomized SVD of empty matrix.");
+        }
+        double[][] a = m.toArray();
+
+        return decompose((firstRow, count) -> Arrays.copyOfRange(a, firstRow, firstRow + count), a.length,
+                a[0].length, rank, powerIterations, DEFAULT_OVERSAMPLING, DEFAULT_SEED, blockRowCount(a[0].length));
+    }
+
+    /**
+     * Computes a rank-k approximation of a matrix file, streaming its rows, so only O((N + M) * k) memory is used.
+     * @param file Matrix file to approximate, NxM.
+     * @param rank Rank of the approximation, at most min(N, M).
+     * @param powerIterations Number of power iterations, usually 0 to 3.
+     * @return Returns the approximation.
+     * @throws IOException Throws IOException if the file can't be read.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if the rank or the number of power iterations
+     * is out of range.
+     */
+    public static RandomizedSvd decompose(MatrixFile file, int rank, int powerIterations) throws IOException {
+        return decompose(file::readRows, file.getRowCount(), file.getColumnCount(), rank, powerIterations,
+                DEFAULT_OVERSAMPLING, DEFAULT_SEED, blockRowCount(file.getColumnCount()));
+    }
+
+    private static int blockRowCount(int columnCount) {
+        return Math.max(1, BLOCK_ELEMENTS / columnCount);
+    }
+
+    /**
+     * @param source Source of the matrix's rows, read in blocks of blockRowCount rows, 2 + 2 * powerIterations times.
+     * @param oversampling Number of samples taken beyond the rank.
+     * @param seed Seed of the random samples, so results are reproducible.
+     */
+    static <E extends Exception> RandomizedSvd decompose(RowSource<E> source, int rowCount, int columnCount, int rank,
+                                                         int powerIterations, int oversampling, long seed,
+                                                         int blockRowCount) throws E {
+        if (rank < 1 || rank > Math.min(rowCount, columnCount)) {
+            throw new IllegalArgumentException("Randomized SVD rank out of range.");
+        }
+        if (powerIterations < 0 || oversampling < 0) {
+            throw new IllegalArgumentException("Negative number of power iterations or oversampling.");
+        }
+        ComputeBackend backend = ComputeBackends.get();
+        int sampleCount = (int) Math.min(Math.min(rowCount, columnCount), (long) rank + oversampling);
+
+        Random random = new Random(seed);
+        double[][] samples = new double[columnCount][sampleCount];
+        for (double[] row : samples) {
+            for (int j = 0; j < sampleCount; ++j) {
+                row[j] = random.nextGaussian();
+            }
+        }
+        for (int iteration = 0; iteration < powerIterations; ++iteration) {
+            double[][] basis = orthonormalize(backend, multiply(backend, source, rowCount, blockRowCount, samples));
+            samples = orthonormalize(backend, multiplyTranspose(backend, source, rowCount, columnCount, blockRowCount,
+                    basis));
+        }
+        double[][] range = orthonormalize(backend, multiply(backend, source, rowCount, blockRowCount, samples));
+        double[][] projectedTranspose = multiplyTranspose(backend, source, rowCount, columnCount, blockRowCount,
+                range);
+
+        // QT * A = (Qb * Rb)T = RbT * QbT, and the SVD of the small RbT is W * S * ZT, so A ~ (Q * W) * S * (Qb * Z)T.
+        double[][] qb = new double[columnCount][sampleCount];
+        double[][] rb = new double[sampleCount][sampleCount];
+        backend.qrDecompose(projectedTranspose, qb, rb);
+        double[][] left = transpose(rb);
+        double[][] right = DenseKernels.identity(sampleCount);
+        double[] values = jacobiSvd(left, right);
+
+        Integer[] order = new Integer[sampleCount];
+        for (int j = 0; j < sampleCount; ++j) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (i, j) -> Double.compare(values[j], values[i]));
+        double[][] w = new double[sampleCount][rank];
+        double[][] z = new double[sampleCount][rank];
+        double[] singularValues = new double[rank];
+        for (int j = 0; j < rank; ++j) {
+            int column = order[j];
+            singularValues[j] = values[column];
+            for (int i = 0; i < sampleCount; ++i) {
+                w[i][j] = left[i][column];
+                z[i][j] = right[i][column];
+            }
+        }
+        double[][] u = new double[rowCount][rank];
+        double[][] v = new double[columnCount][rank];
+        backend.gemm(1.0, range, w, 0.0, u);
+        backend.gemm(1.0, qb, z, 0.0, v);
+
+        return new RandomizedSvd(u, singularValues, v);
+    }
+
+    /**
+     * Computes A * samples in one pass over the rows of A.
+     * @return Returns a new NxK array.
+     */
+    private static <E extends Exception> double[][] multiply(ComputeBackend backend, RowSource<E> source, int rowCount,
+                                                             int blockRowCount, double[][] samples) throws E {
+        double[][] result = new double[rowCount][samples[0].length];
+        for (int first = 0; first < rowCount; first += blockRowCount) {
+            Cancellation.checkpoint();
+            int count = Math.min(blockRowCount, rowCount - first);
+            backend.gemm(1.0, source.readRows(first, count), samples, 0.0,
+                    Arrays.copyOfRange(result, first, first + count));
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes AT * range in one pass over the rows of A, accumulating the product of every row block.
+     * @return Returns a new MxK array.
+     */
+    private static <E extends Exception> double[][] multiplyTranspose(ComputeBackend backend, RowSource<E> source,
+                                                                      int rowCount, int columnCount, int blockRowCount,
+                                                                      double[][] range) throws E {
+        double[][] result = new double[columnCount][range[0].length];
+        for (int first = 0; first < rowCount; first += blockRowCount) {
+            Cancellation.checkpoint();
+            int count = Math.min(blockRowCount, rowCount - first);
+            backend.gemm(1.0, transpose(source.readRows(first, count)), Arrays.copyOfRange(range, first, first + count),
+                    1.0, result);
+        }
+
+        return result;
+    }
+
+    private static double[][] orthonormalize(ComputeBackend backend, double[][] a) {
+        int columnCount = a[0].length;
+        double[][] q = new double[a.length][columnCount];
+        backend.qrDecompose(a, q, new double[columnCount][columnCount]);
+
+        return q;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        double[][] result = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; ++i) {
+            double[] row = a[i];
+            for (int j = 0; j < row.length; ++j) {
+                result[j][i] = row[j];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * One-sided Jacobi SVD of a small square array: plane rotations are applied to pairs of its columns until every
+     * pair is orthogonal, and accumulated in v. Starting from v = I, afterwards the original a = U * S * VT, where the
+     * columns of U are the normalized columns of a, and S holds their norms.
+     * @param a KxK array to decompose. It is overwritten with U.
+     * @param v KxK array the rotations are accumulated into, usually the identity.
+     * @return Returns the singular values, in the order of the columns.
+     */
+    private static double[] jacobiSvd(double[][] a, double[][] v) {
+        int n = a.length;
+        boolean rotated = true;
+        for (int sweep = 0; sweep < MAX_JACOBI_SWEEPS && rotated; ++sweep) {
+            rotated = false;
+            for (int p = 0; p < n - 1; ++p) {
+                for (int q = p + 1; q < n; ++q) {
+                    double alpha = 0.0;
+                    double beta = 0.0;
+                    double gamma = 0.0;
+                    for (double[] row : a) {
+                        alpha += row[p] * row[p];
+                        beta += row[q] * row[q];
+                        gamma += row[p] * row[q];
+                    }
+                    if (Math.abs(gamma) <= 1e-15 * Math.sqrt(alpha * beta)) {
+                        continue;
+                    }
+                    rotated = true;
+                    double zeta = (beta - alpha) / (2.0 * gamma);
+                    double t = (zeta >= 0.0 ? 1.0 : -1.0) / (Math.abs(zeta) + Math.sqrt(1.0 + zeta * zeta));
+                    double c = 1.0 / Math.sqrt(1.0 + t * t);
+                    double s = c * t;
+                    rotate(a, p, q, c, s);
+                    rotate(v, p, q, c, s);
+                }
+            }
+        }
+        double[] result = new double[n];
+        for (int j = 0; j < n; ++j) {
+            double norm = 0.0;
+            for (double[] row : a) {
+                norm += row[j] * row[j];
+            }
+            norm = Math.sqrt(norm);
+            result[j] = norm;
+            if (norm > 0.0) {
+                for (double[] row : a) {
+                    row[j] /= norm;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static void rotate(double[][] a, int p, int q, double c, double s) {
+        for (double[] row : a) {
+            double x = row[p];
+            double y = row[q];
+            row[p] = c * x - s * y;
+            row[q] = s * x + c * y;
+        }
+    }
+
+    public int getRank() {
+        return singularValues.length;
+    }
+
+    /**
+     * @return Returns a new Nxk matrix with orthonormal columns, the left singular vectors.
+     */
+    public Matrix getU() {
+        return Matrix.fromArray(DenseKernels.copy(u));
+    }
+
+    /**
+     * @return Returns a new vector holding the k largest singular values, in decreasing order.
+     */
+    public Vector getSingularValues() {
+        return Vector.fromArray(singularValues.clone());
+    }
+
+    /**
+     * @return Returns a new Mxk matrix with orthonormal columns, the right singular vectors.
+     */
+    public Matrix getV() {
+        return Matrix.fromArray(DenseKernels.copy(v));
+    }
+
+    /**
+     * Multiplies the factors back together.
+     * @return Returns a new NxM matrix which is U * S * VT.
+     */
+    public Matrix getApproximation() {
+        double[][] scaled = DenseKernels.copy(u);
+        for (double[] row : scaled) {
+            for (int j = 0; j < row.length; ++j) {
+                row[j] *= singularValues[j];
+            }
+        }
+        double[][] result = new double[u.length][v.length];
+        ComputeBackends.get().gemm(1.0, scaled, transpose(v), 0.0, result);
+
+        return Matrix.fromArray(result);
+    }
+
+    /**
+     * Source of consecutive row blocks of the matrix being approximated.
+     */
+    interface RowSource<E extends Exception> {
+        double[][] readRows(int firstRow, int count) throws E;
+    }
+}
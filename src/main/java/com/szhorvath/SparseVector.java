@@ -0,0 +1,373 @@
+package com.szhorvath;
+
+import java.util.Arrays;
+
+/**
+ * The SparseVector class holds a vector of which only a few elements are non-zero, as a sorted array of the indices of
+ * the stored elements and an array of their values. Operations with other sparse vectors merge the two index arrays,
+ * and operations with dense vectors only visit the stored elements, so their cost depends on the number of stored
+ * elements rather than on the size.
+ * Instances are immutable.
+ */
+public class SparseVector {
+    private final int size;
+    private final int[] indices;
+    private final double[] values;
+
+    /**
+     * Constructor for a zero vector of the given size.
+     * @param size Number of elements.
+     */
+    public SparseVector(int size) {
+        this(size, new int[0], new double[0], false);
+    }
+
+    /**
+     * Constructor to copy the given elements into a new sparse vector. The indices don't have to be sorted.
+     * @param size Number of elements.
+     * @param indices Indices of the stored elements. Every index has to be in [0, size) and may appear only once.
+     * @param values Values of the stored elements, in the same order as the indices.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the number of indices and values
+     * differ.
+     * @throws IndexOutOfBoundsException Throws IndexOutOfBoundsException if an index is out of range.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if an index appears more than once.
+     */
+    public SparseVector(int size, int[] indices, double[] values) throws VectorSizeMismatchException {
+        this(size, indices.clone(), values.clone(), true);
+    }
+
+    private SparseVector(int size, int[] indices, double[] values, boolean check) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Sparse vector with negative size.");
+        }
+        this.size = size;
+        this.indices = indices;
+        this.values = values;
+        if (check) {
+            if (indices.length != values.length) {
+                throw new VectorSizeMismatchException("Sparse vector with different number of indices and values.");
+            }
+            sortByIndex();
+            for (int i = 0; i < indices.length; ++i) {
+                if (indices[i] < 0 || indices[i] >= size) {
+                    throw new IndexOutOfBoundsException("Index outside of the sparse vector.");
+                }
+                if (i > 0 && indices[i] == indices[i - 1]) {
+                    throw new IllegalArgumentException("Duplicate index in sparse vector.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Compresses a dense vector, storing its non-zero elements.
+     * @param v Vector to compress.
+     * @return Returns a new sparse vector equal to the given vector.
+     */
+    public static SparseVector fromDense(Vector v) {
+        double[] dense = v.toArray();
+        int count = 0;
+        for (double value : dense) {
+            if (value != 0.0) {
+                ++count;
+            }
+        }
+        int[] indices = new int[count];
+        double[] values = new double[count];
+        int next = 0;
+        for (int i = 0; i < dense.length; ++i) {
+            if (dense[i] != 0.0) {
+                indices[next] = i;
+                values[next] = dense[i];
+                ++next;
+            }
+        }
+
+        return new SparseVector(dense.length, indices, values, false);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return Returns the number of stored elements.
+     */
+    public int getNonZeroCount() {
+        return indices.length;
+    }
+
+    /**
+     * @return Returns a new array holding the indices of the stored elements, in increasing order.
+     */
+    public int[] getIndices() {
+        return indices.clone();
+    }
+
+    /**
+     * @return Returns a new array holding the values of the stored elements, in the order of getIndices().
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * @param index Index of the element.
+     * @return Returns the element at the given index, zero if it isn't stored.
+     * @throws IndexOutOfBoundsException Throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index outside of the sparse vector.");
+        }
+        int position = Arrays.binarySearch(indices, index);
+
+        return position >= 0 ? values[position] : 0.0;
+    }
+
+    /**
+     * Scatters this vector into a new dense vector.
+     * @return Returns a new dense vector equal to this vector.
+     */
+    public Vector toDense() {
+        double[] result = new double[size];
+        for (int i = 0; i < indices.length; ++i) {
+            result[indices[i]] = values[i];
+        }
+
+        return Vector.fromArray(result);
+    }
+
+    /**
+     * Scatters this vector into a copy of the given dense vector: the elements at this vector's indices are replaced by
+     * this vector's values, the others are kept.
+     * @param dense Vector to scatter into.
+     * @return Returns a new dense vector.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public Vector scatter(Vector dense) throws VectorSizeMismatchException {
+        checkSize(dense.getSize(), "Scatter into different sized vector.");
+        double[] result = dense.toArray();
+        for (int i = 0; i < indices.length; ++i) {
+            result[indices[i]] = values[i];
+        }
+
+        return Vector.fromArray(result);
+    }
+
+    /**
+     * Gathers the elements of a dense vector at this vector's indices.
+     * @param dense Vector to gather from.
+     * @return Returns a new sparse vector with this vector's indices and the given vector's values at them.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public SparseVector gather(Vector dense) throws VectorSizeMismatchException {
+        checkSize(dense.getSize(), "Gather from different sized vector.");
+        double[] result = new double[indices.length];
+        for (int i = 0; i < indices.length; ++i) {
+            result[i] = dense.getValues().get(indices[i]);
+        }
+
+        return new SparseVector(size, indices, result, false);
+    }
+
+    /**
+     * Computes the dot product of this vector and a sparse vector, merging the two index arrays.
+     * @param v Vector to compute the dot product with.
+     * @return Returns the dot product of the two vectors.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public double dotProduct(SparseVector v) throws VectorSizeMismatchException {
+        checkSize(v.size, "Dot product of different sized vectors.");
+        double result = 0.0;
+        int i = 0;
+        int j = 0;
+        while (i < indices.length && j < v.indices.length) {
+            if (indices[i] < v.indices[j]) {
+                ++i;
+            } else if (indices[i] > v.indices[j]) {
+                ++j;
+            } else {
+                result += values[i++] * v.values[j++];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the dot product of this vector and a dense vector, visiting only the stored elements.
+     * @param v Vector to compute the dot product with.
+     * @return Returns the dot product of the two vectors.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public double dotProduct(Vector v) throws VectorSizeMismatchException {
+        checkSize(v.getSize(), "Dot product of different sized vectors.");
+        double result = 0.0;
+        for (int i = 0; i < indices.length; ++i) {
+            result += values[i] * v.getValues().get(indices[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds a sparse vector to this vector, merging the two index arrays.
+     * @param v Vector to add to this vector.
+     * @return Returns a new sparse vector which is the sum of the two.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public SparseVector addVector(SparseVector v) throws VectorSizeMismatchException {
+        checkSize(v.size, "Addition of different sized vectors.");
+
+        return v.axpy(1.0, this);
+    }
+
+    /**
+     * Adds a dense vector to this vector.
+     * @param v Vector to add to this vector.
+     * @return Returns a new dense vector which is the sum of the two. Copying the dense vector takes O(N), the addition
+     * itself only visits the stored elements.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public Vector addVector(Vector v) throws VectorSizeMismatchException {
+        checkSize(v.getSize(), "Addition of different sized vectors.");
+        double[] result = v.toArray();
+        for (int i = 0; i < indices.length; ++i) {
+            result[indices[i]] += values[i];
+        }
+
+        return Vector.fromArray(result);
+    }
+
+    /**
+     * Computes alpha * this + y, merging the two index arrays.
+     * @param alpha Scale of this vector.
+     * @param y Vector to add.
+     * @return Returns a new sparse vector holding the result.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public SparseVector axpy(double alpha, SparseVector y) throws VectorSizeMismatchException {
+        checkSize(y.size, "Addition of different sized vectors.");
+        int[] resultIndices = new int[indices.length + y.indices.length];
+        double[] resultValues = new double[resultIndices.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < indices.length || j < y.indices.length) {
+            if (j == y.indices.length || (i < indices.length && indices[i] < y.indices[j])) {
+                resultIndices[count] = indices[i];
+                resultValues[count++] = alpha * values[i++];
+            } else if (i == indices.length || indices[i] > y.indices[j]) {
+                resultIndices[count] = y.indices[j];
+                resultValues[count++] = y.values[j++];
+            } else {
+                resultIndices[count] = indices[i];
+                resultValues[count++] = alpha * values[i++] + y.values[j++];
+            }
+        }
+
+        return new SparseVector(size, Arrays.copyOf(resultIndices, count), Arrays.copyOf(resultValues, count), false);
+    }
+
+    /**
+     * Computes y = alpha * this + y in place, visiting only the stored elements.
+     * @param alpha Scale of this vector.
+     * @param y Dense vector to update.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public void axpy(double alpha, Vector y) throws VectorSizeMismatchException {
+        checkSize(y.getSize(), "Addition of different sized vectors.");
+        for (int i = 0; i < indices.length; ++i) {
+            y.getValues().set(indices[i], y.getValues().get(indices[i]) + alpha * values[i]);
+        }
+    }
+
+    public SparseVector scalarProduct(double scalar) {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            result[i] = scalar * values[i];
+        }
+
+        return new SparseVector(size, indices, result, false);
+    }
+
+    private void checkSize(int otherSize, String message) throws VectorSizeMismatchException {
+        if (size != otherSize) {
+            throw new VectorSizeMismatchException(message);
+        }
+    }
+
+    /**
+     * Sorts the index and value arrays by index in O(nnz * log(nnz)). Each index is packed with its position into a
+     * long, index in the high half, so sorting the longs sorts by index, and the positions in the low half give the
+     * permutation to apply to the values. Already sorted input, the usual case, is detected in a single pass.
+     */
+    private void sortByIndex() {
+        boolean sorted = true;
+        for (int i = 1; i < indices.length && sorted; ++i) {
+            sorted = indices[i - 1] <= indices[i];
+        }
+        if (sorted) {
+            return;
+        }
+        long[] packed = new long[indices.length];
+        for (int i = 0; i < indices.length; ++i) {
+            packed[i] = (long) indices[i] << 32 | i;
+        }
+        Arrays.sort(packed);
+        double[] unsorted = values.clone();
+        for (int i = 0; i < packed.length; ++i) {
+            indices[i] = (int) (packed[i] >> 32);
+            values[i] = unsorted[(int) packed[i]];
+        }
+    }
+
+    /**
+     * Sparse vectors are equal if they have the same size and equal elements within the same tolerance as Vector,
+     * whichever elements they store.
+     */
+    @Override
+    public boolean equals(Object o) {
+        double delta = 0.00001;
+
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof SparseVector)) {
+            return false;
+        }
+
+        SparseVector v = (SparseVector) o;
+        if (size != v.size) {
+            return false;
+        }
+        SparseVector difference = v.axpy(-1.0, this);
+        for (double value : difference.values) {
+            if (Math.abs(value) >= delta) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Consistent with equals(), which tolerates small differences between elements: only the size is hashed.
+     */
+    @Override
+    public int hashCode() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder strb = new StringBuilder("( size " + size + " :");
+        for (int i = 0; i < indices.length; ++i) {
+            strb.append(' ').append(indices[i]).append('=').append(values[i]);
+        }
+
+        return strb.append(" )").toString();
+    }
+}
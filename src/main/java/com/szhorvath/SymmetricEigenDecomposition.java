@@ -0,0 +1,533 @@
+package com.szhorvath;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The SymmetricEigenDecomposition class computes the eigenvalues and eigenvectors A = V * D * VT of a symmetric matrix.
+ * The matrix is first reduced to tridiagonal form T = QT * A * Q with Householder reflections, then the eigenvalues of
+ * T are found with the implicitly shifted QL algorithm.
+ * For all eigenpairs, the rotations of every QL iteration are accumulated into Q, which gives the eigenvectors of A.
+ * For only the k largest eigenpairs, QL runs without eigenvectors, in O(N^2), and the k eigenvectors of T are found by
+ * inverse iteration and transformed back with the reflections, in O(N^2 * k), so only the reduction takes O(N^3).
+ * The O(N^3) loops, the reduction's rank-2 updates and the application of the rotations and reflections, are split by
+ * rows or columns across the cores once their work reaches KernelParameters' parallel threshold. Every element is
+ * computed in the same order either way, so the results don't depend on it.
+ */
+public class SymmetricEigenDecomposition {
+    private static final int MAX_ITERATIONS = 60;
+    private static final int INVERSE_ITERATIONS = 4;
+    private static final double EPSILON = Math.ulp(1.0);
+    private static final int COLUMN_CHUNK = 64;
+
+    private final double[] eigenvalues;
+    private final double[][] eigenvectors;
+
+    /**
+     * Constructor to compute every eigenpair of the given matrix.
+     * @param m Symmetric matrix to decompose. Only its lower triangle is read. (NxN)
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     * @throws MatrixOperationException Throws MatrixOperationException if the QL iteration doesn't converge.
+     */
+    public SymmetricEigenDecomposition(Matrix m) throws MatrixException {
+        this(m, m.getRowCount());
+    }
+
+    /**
+     * Constructor to compute the eigenpairs of the given matrix with the largest eigenvalues.
+     * @param m Symmetric matrix to decompose. Only its lower triangle is read. (NxN)
+     * @param count Number of eigenpairs to compute, between 1 and N.
+     * @throws MatrixSizeMismatchException Throws MatrixSizeMismatchException if the matrix is empty or non-square.
+     * @throws MatrixOperationException Throws MatrixOperationException if the QL iteration doesn't converge.
+     * @throws IllegalArgumentException Throws IllegalArgumentException if the count is out of range.
+     */
+    public SymmetricEigenDecomposition(Matrix m, int count) throws MatrixException {
+        if (!m.isSquareMatrix()) {
+            throw new MatrixSizeMismatchException("Eigen decomposition of non-square or empty matrix.");
+        }
+        int n = m.getRowCount();
+        if (count < 1 || count > n) {
+            throw new IllegalArgumentException("Eigenpair count out of range.");
+        }
+        eigenvalues = new double[count];
+        eigenvectors = new double[n][count];
+        ComputeBackends.get().symmetricEigenDecompose(m.toArray(), eigenvalues, eigenvectors);
+    }
+
+    /**
+     * The pure Java eigen decomposition, which is the default of ComputeBackend.symmetricEigenDecompose().
+     * @param a Symmetric NxN array. Only its lower triangle is read. It is overwritten.
+     * @param values Output of size K, receiving the K largest eigenvalues in decreasing order.
+     * @param vectors Output, NxK, receiving the corresponding eigenvectors as columns.
+     * @throws MatrixOperationException Throws MatrixOperationException if the QL iteration doesn't converge.
+     */
+    static void decompose(double[][] a, double[] values, double[][] vectors) throws MatrixOperationException {
+        int n = a.length;
+        int count = values.length;
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < i; ++j) {
+                a[j][i] = a[i][j];
+            }
+        }
+        double[] d = new double[n];
+        double[] e = new double[n];
+        double[] betas = new double[n];
+        tridiagonalize(a, d, e, betas);
+
+        if (count > n / 4) {
+            double[][] z = formQ(a, betas);
+            ql(d, e, z);
+            Integer[] order = decreasingOrder(d);
+            for (int j = 0; j < count; ++j) {
+                values[j] = d[order[j]];
+                for (int i = 0; i < n; ++i) {
+                    vectors[i][j] = z[i][order[j]];
+                }
+            }
+        } else {
+            double[] sorted = d.clone();
+            ql(sorted, e.clone(), null);
+            Arrays.sort(sorted);
+            for (int j = 0; j < count; ++j) {
+                values[j] = sorted[n - 1 - j];
+            }
+            double[][] x = inverseIteration(d, e, values);
+            applyQ(a, betas, x);
+            for (int i = 0; i < n; ++i) {
+                System.arraycopy(x[i], 0, vectors[i], 0, count);
+            }
+        }
+    }
+
+    /**
+     * Reduces the symmetric array to tridiagonal form in place. Reflection k, I - betas[k] * v * vT, zeroes column k
+     * below the subdiagonal; its vector v is left in row k, right of the diagonal.
+     * @param a Symmetric NxN array, both triangles filled. It is overwritten.
+     * @param d Output of size N, the diagonal of T.
+     * @param e Output of size N, the off-diagonal of T: e[i] couples i and i + 1, and e[N - 1] is zero.
+     * @param betas Output of size N, the reflections' scales.
+     */
+    private static void tridiagonalize(double[][] a, double[] d, double[] e, double[] betas) {
+        int n = a.length;
+        double[] p = new double[n];
+        double[] w = new double[n];
+        Cancellation cancellation = Cancellation.current();
+        for (int k = 0; k < n - 2; ++k) {
+            Cancellation.checkpoint();
+            double[] v = a[k];
+            d[k] = v[k];
+            double norm = 0.0;
+            for (int i = k + 1; i < n; ++i) {
+                norm += v[i] * v[i];
+            }
+            norm = Math.sqrt(norm);
+            if (norm == 0.0) {
+                continue;
+            }
+            double alpha = v[k + 1] > 0.0 ? -norm : norm;
+            e[k] = alpha;
+            v[k + 1] -= alpha;
+            double beta = 1.0 / (norm * (norm + Math.abs(v[k + 1] + alpha)));
+            betas[k] = beta;
+
+            int first = k + 1;
+            long work = (long) (n - first) * (n - first);
+            forEachRow(first, n, work, i -> {
+                Cancellation.checkpoint(cancellation);
+                double[] row = a[i];
+                double sum = 0.0;
+                for (int j = first; j < n; ++j) {
+                    sum += row[j] * v[j];
+                }
+                p[i] = beta * sum;
+            });
+            double half = 0.0;
+            for (int i = first; i < n; ++i) {
+                half += v[i] * p[i];
+            }
+            half *= beta / 2.0;
+            for (int i = first; i < n; ++i) {
+                w[i] = p[i] - half * v[i];
+            }
+            forEachRow(first, n, work, i -> {
+                Cancellation.checkpoint(cancellation);
+                double[] row = a[i];
+                double vi = v[i];
+                double wi = w[i];
+                for (int j = first; j < n; ++j) {
+                    row[j] -= vi * w[j] + wi * v[j];
+                }
+            });
+        }
+        if (n >= 2) {
+            d[n - 2] = a[n - 2][n - 2];
+            e[n - 2] = a[n - 2][n - 1];
+        }
+        d[n - 1] = a[n - 1][n - 1];
+    }
+
+    /**
+     * Forms Q = H0 * H1 * ... explicitly, applying the reflections to the identity from the last one. Both the product
+     * vT * Q, split by columns, and the rank-1 update, split by rows, run in parallel above the threshold.
+     */
+    private static double[][] formQ(double[][] a, double[] betas) {
+        int n = a.length;
+        double[][] q = DenseKernels.identity(n);
+        double[] r = new double[n];
+        Cancellation cancellation = Cancellation.current();
+        for (int k = n - 3; k >= 0; --k) {
+            Cancellation.checkpoint();
+            if (betas[k] == 0.0) {
+                continue;
+            }
+            double[] v = a[k];
+            double beta = betas[k];
+            int first = k + 1;
+            long work = (long) (n - first) * (n - first);
+            int chunkCount = (n - first + COLUMN_CHUNK - 1) / COLUMN_CHUNK;
+            forEachRow(0, chunkCount, work, chunk -> {
+                Cancellation.checkpoint(cancellation);
+                int from = first + chunk * COLUMN_CHUNK;
+                int to = Math.min(n, from + COLUMN_CHUNK);
+                Arrays.fill(r, from, to, 0.0);
+                for (int i = first; i < n; ++i) {
+                    double vi = v[i];
+                    double[] row = q[i];
+                    for (int j = from; j < to; ++j) {
+                        r[j] += vi * row[j];
+                    }
+                }
+            });
+            forEachRow(first, n, work, i -> {
+                Cancellation.checkpoint(cancellation);
+                double[] row = q[i];
+                double scale = beta * v[i];
+                for (int j = first; j < n; ++j) {
+                    row[j] -= scale * r[j];
+                }
+            });
+        }
+
+        return q;
+    }
+
+    /**
+     * Applies Q to the columns of an array in place, applying the reflections from the last one.
+     */
+    private static void applyQ(double[][] a, double[] betas, double[][] x) {
+        int n = a.length;
+        int columnCount = x[0].length;
+        double[] r = new double[columnCount];
+        for (int k = n - 3; k >= 0; --k) {
+            Cancellation.checkpoint();
+            if (betas[k] == 0.0) {
+                continue;
+            }
+            double[] v = a[k];
+            Arrays.fill(r, 0.0);
+            for (int i = k + 1; i < n; ++i) {
+                for (int j = 0; j < columnCount; ++j) {
+                    r[j] += v[i] * x[i][j];
+                }
+            }
+            for (int i = k + 1; i < n; ++i) {
+                double scale = betas[k] * v[i];
+                for (int j = 0; j < columnCount; ++j) {
+                    x[i][j] -= scale * r[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Implicitly shifted QL iteration on a symmetric tridiagonal matrix. The rotations of each iteration are recorded
+     * and then applied to z row by row, as the rows are independent.
+     * @param d Diagonal of size N. It is overwritten with the eigenvalues, in no particular order.
+     * @param e Off-diagonal of size N, e[i] coupling i and i + 1. It is overwritten.
+     * @param z NxN array the rotations are accumulated into, or null if the eigenvectors aren't needed.
+     * @throws MatrixOperationException Throws MatrixOperationException if an eigenvalue doesn't converge.
+     */
+    private static void ql(double[] d, double[] e, double[][] z) throws MatrixOperationException {
+        int n = d.length;
+        double[] cosines = new double[n];
+        double[] sines = new double[n];
+        Cancellation cancellation = Cancellation.current();
+        for (int l = 0; l < n; ++l) {
+            int iteration = 0;
+            int m;
+            do {
+                for (m = l; m < n - 1; ++m) {
+                    double dd = Math.abs(d[m]) + Math.abs(d[m + 1]);
+                    if (Math.abs(e[m]) <= EPSILON * dd) {
+                        break;
+                    }
+                }
+                if (m == l) {
+                    break;
+                }
+                if (iteration++ == MAX_ITERATIONS) {
+                    throw new MatrixOperationException("Eigen decomposition did not converge.");
+                }
+                Cancellation.checkpoint();
+                double g = (d[l + 1] - d[l]) / (2.0 * e[l]);
+                double r = Math.hypot(g, 1.0);
+                g = d[m] - d[l] + e[l] / (g + Math.copySign(r, g));
+                double s = 1.0;
+                double c = 1.0;
+                double p = 0.0;
+                int i;
+                for (i = m - 1; i >= l; --i) {
+                    double f = s * e[i];
+                    double b = c * e[i];
+                    r = Math.hypot(f, g);
+                    e[i + 1] = r;
+                    if (r == 0.0) {
+                        d[i + 1] -= p;
+                        e[m] = 0.0;
+                        break;
+                    }
+                    s = f / r;
+                    c = g / r;
+                    g = d[i + 1] - p;
+                    r = (d[i] - g) * s + 2.0 * c * b;
+                    p = s * r;
+                    d[i + 1] = g + p;
+                    g = c * r - b;
+                    cosines[i] = c;
+                    sines[i] = s;
+                }
+                if (z != null) {
+                    int last = m - 1;
+                    int stop = i;
+                    forEachRow(0, n, (long) n * (last - stop), row -> {
+                        Cancellation.checkpoint(cancellation);
+                        double[] zRow = z[row];
+                        for (int k = last; k > stop; --k) {
+                            double f = zRow[k + 1];
+                            zRow[k + 1] = sines[k] * zRow[k] + cosines[k] * f;
+                            zRow[k] = cosines[k] * zRow[k] - sines[k] * f;
+                        }
+                    });
+                }
+                if (r == 0.0 && i >= l) {
+                    continue;
+                }
+                d[l] -= p;
+                e[l] = g;
+                e[m] = 0.0;
+            } while (true);
+        }
+    }
+
+    /**
+     * Finds eigenvectors of a symmetric tridiagonal matrix by inverse iteration with its eigenvalues, orthogonalizing
+     * every vector against the previous ones, so eigenvectors of close eigenvalues stay orthogonal.
+     * @return Returns a new Nxk array holding the eigenvectors as columns.
+     */
+    private static double[][] inverseIteration(double[] d, double[] e, double[] values) {
+        int n = d.length;
+        double norm = 0.0;
+        for (int i = 0; i < n; ++i) {
+            norm = Math.max(norm, Math.abs(d[i]) + Math.abs(e[i]) + (i > 0 ? Math.abs(e[i - 1]) : 0.0));
+        }
+        // The eigenvectors don't change with the scale of T, so it's scaled to unit norm, and a zero T is left as is.
+        double scale = norm > 0.0 ? 1.0 / norm : 1.0;
+        double[] scaledD = new double[n];
+        double[] scaledE = new double[n];
+        for (int i = 0; i < n; ++i) {
+            scaledD[i] = d[i] * scale;
+            scaledE[i] = e[i] * scale;
+        }
+        double tiny = EPSILON;
+        Random random = new Random(n);
+        double[][] vectors = new double[values.length][];
+        double[] u0 = new double[n];
+        double[] u1 = new double[n];
+        double[] u2 = new double[n];
+        double[] multipliers = new double[n];
+        boolean[] swapped = new boolean[n];
+        for (int j = 0; j < values.length; ++j) {
+            Cancellation.checkpoint();
+            factorTridiagonal(scaledD, scaledE, values[j] * scale, tiny, u0, u1, u2, multipliers, swapped);
+            double[] x = new double[n];
+            for (int i = 0; i < n; ++i) {
+                x[i] = random.nextDouble() - 0.5;
+            }
+            for (int iteration = 0; iteration < INVERSE_ITERATIONS; ++iteration) {
+                solveTridiagonal(u0, u1, u2, multipliers, swapped, x);
+                for (int previous = 0; previous < j; ++previous) {
+                    double[] other = vectors[previous];
+                    double dot = 0.0;
+                    for (int i = 0; i < n; ++i) {
+                        dot += x[i] * other[i];
+                    }
+                    for (int i = 0; i < n; ++i) {
+                        x[i] -= dot * other[i];
+                    }
+                }
+                normalize(x, random);
+            }
+            vectors[j] = x;
+        }
+        double[][] result = new double[n][values.length];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < values.length; ++j) {
+                result[i][j] = vectors[j][i];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Scales x to unit length, dividing by its largest element first so the squares can't overflow. A vector which
+     * vanished, lying in the span of the previous ones, is restarted from random values.
+     */
+    private static void normalize(double[] x, Random random) {
+        double max = 0.0;
+        for (double value : x) {
+            max = Math.max(max, Math.abs(value));
+        }
+        if (!(max > 0.0) || Double.isInfinite(max)) {
+            for (int i = 0; i < x.length; ++i) {
+                x[i] = random.nextDouble() - 0.5;
+            }
+            normalize(x, random);
+            return;
+        }
+        double length = 0.0;
+        for (int i = 0; i < x.length; ++i) {
+            x[i] /= max;
+            length += x[i] * x[i];
+        }
+        length = Math.sqrt(length);
+        for (int i = 0; i < x.length; ++i) {
+            x[i] /= length;
+        }
+    }
+
+    /**
+     * LU factorization of T - shift * I with partial pivoting. U has two superdiagonals because of the row swaps; zero
+     * pivots are replaced by tiny, as the matrix is singular when the shift is an exact eigenvalue.
+     */
+    private static void factorTridiagonal(double[] d, double[] e, double shift, double tiny, double[] u0, double[] u1,
+                                          double[] u2, double[] multipliers, boolean[] swapped) {
+        int n = d.length;
+        for (int i = 0; i < n; ++i) {
+            u0[i] = d[i] - shift;
+            u1[i] = e[i];
+            u2[i] = 0.0;
+        }
+        for (int i = 0; i < n - 1; ++i) {
+            double below = e[i];
+            if (Math.abs(u0[i]) >= Math.abs(below)) {
+                swapped[i] = false;
+                if (u0[i] == 0.0) {
+                    u0[i] = tiny;
+                }
+                multipliers[i] = below / u0[i];
+                u0[i + 1] -= multipliers[i] * u1[i];
+            } else {
+                swapped[i] = true;
+                multipliers[i] = u0[i] / below;
+                double upper = u1[i];
+                u0[i] = below;
+                u1[i] = u0[i + 1];
+                u2[i] = i + 1 < n - 1 ? u1[i + 1] : 0.0;
+                u0[i + 1] = upper - multipliers[i] * u1[i];
+                if (i + 1 < n - 1) {
+                    u1[i + 1] = -multipliers[i] * u2[i];
+                }
+            }
+        }
+        if (u0[n - 1] == 0.0) {
+            u0[n - 1] = tiny;
+        }
+    }
+
+    private static void solveTridiagonal(double[] u0, double[] u1, double[] u2, double[] multipliers,
+                                         boolean[] swapped, double[] x) {
+        int n = x.length;
+        for (int i = 0; i < n - 1; ++i) {
+            if (swapped[i]) {
+                double temp = x[i];
+                x[i] = x[i + 1];
+                x[i + 1] = temp;
+            }
+            x[i + 1] -= multipliers[i] * x[i];
+        }
+        for (int i = n - 1; i >= 0; --i) {
+            double sum = x[i];
+            if (i + 1 < n) {
+                sum -= u1[i] * x[i + 1];
+            }
+            if (i + 2 < n) {
+                sum -= u2[i] * x[i + 2];
+            }
+            x[i] = sum / u0[i];
+        }
+    }
+
+    private static Integer[] decreasingOrder(double[] values) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> Double.compare(values[j], values[i]));
+
+        return order;
+    }
+
+    /**
+     * Runs the task for every row in [from, to), in parallel once the work reaches the parallel threshold.
+     */
+    private static void forEachRow(int from, int to, long work, IntConsumer task) {
+        if (work >= KernelParameters.current().getParallelThreshold()) {
+            IntStream.range(from, to).parallel().forEach(task);
+        } else {
+            for (int i = from; i < to; ++i) {
+                task.accept(i);
+            }
+        }
+    }
+
+    /**
+     * @return Returns the number of eigenpairs computed.
+     */
+    public int getCount() {
+        return eigenvalues.length;
+    }
+
+    /**
+     * @return Returns a new vector holding the eigenvalues, in decreasing order.
+     */
+    public Vector getEigenvalues() {
+        return Vector.fromArray(eigenvalues.clone());
+    }
+
+    /**
+     * @return Returns a new Nxk matrix whose columns are the unit eigenvectors, in the order of getEigenvalues().
+     */
+    public Matrix getEigenvectors() {
+        return Matrix.fromArray(DenseKernels.copy(eigenvectors));
+    }
+
+    /**
+     * @param index Index of the eigenpair, in the order of getEigenvalues().
+     * @return Returns a new vector holding the unit eigenvector.
+     * @throws IndexOutOfBoundsException Throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Vector getEigenvector(int index) {
+        if (index < 0 || index >= eigenvalues.length) {
+            throw new IndexOutOfBoundsException("Eigenpair outside of the decomposition.");
+        }
+        double[] result = new double[eigenvectors.length];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = eigenvectors[i][index];
+        }
+
+        return Vector.fromArray(result);
+    }
+}
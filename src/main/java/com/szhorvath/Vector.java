@@ -5,6 +5,8 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * The Vector class contains a list of real values which make up a vector, and allows several operations to be executed
@@ -106,6 +108,16 @@ public class Vector {
         }
     }
 
+    /**
+     * Performs addition on this vector and the given sparse vector.
+     * @param v Sparse vector to add to this vector.
+     * @return Returns a new vector which is the sum of the two.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public Vector addVector(SparseVector v) throws VectorSizeMismatchException {
+        return v.addVector(this);
+    }
+
     /**
      * Subtracts the given vector from this vector.
      * The two vectors must contain the same amount of elements.
@@ -155,6 +167,129 @@ public class Vector {
         }
     }
 
+    /**
+     * Computes the dot product of this vector and a sparse vector, visiting only the sparse vector's stored elements.
+     * @param v Sparse vector to compute the dot product with.
+     * @return Returns a real value representing the two vector's dot product.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public Double dotProduct(SparseVector v) throws VectorSizeMismatchException {
+        return v.dotProduct(this);
+    }
+
+    /**
+     * Applies a function to every element of this vector. Large vectors are processed in parallel.
+     * @param operator Function to apply.
+     * @return Returns a new vector holding the function's value for every element.
+     */
+    public Vector map(DoubleUnaryOperator operator) {
+        double[][] values = {toArray()};
+        ElementwiseKernels.map(values, values, operator);
+
+        return fromArray(values[0]);
+    }
+
+    /**
+     * Combines the elements of this vector with the corresponding elements of the given vector.
+     * The two vectors must contain the same amount of elements. Large vectors are processed in parallel.
+     * @param v Vector whose elements are the second arguments of the function.
+     * @param operator Function to apply to each pair of elements.
+     * @return Returns a new vector holding the function's value for every pair of elements.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public Vector zip(Vector v, DoubleBinaryOperator operator) throws VectorSizeMismatchException {
+        if (values.size() == v.values.size()) {
+            double[][] result = {toArray()};
+            ElementwiseKernels.zip(result, new double[][] {v.toArray()}, result, operator);
+
+            return fromArray(result[0]);
+        } else {
+            throw new VectorSizeMismatchException("Element-wise operation on different sized vectors.");
+        }
+    }
+
+    /**
+     * Multiplies the elements of this vector with the corresponding elements of the given vector.
+     * The two vectors must contain the same amount of elements.
+     * @param v Vector to multiply with element by element.
+     * @return Returns a new vector which is the element-wise product of the two.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the two vectors have different sizes.
+     */
+    public Vector hadamardProduct(Vector v) throws VectorSizeMismatchException {
+        if (values.size() == v.values.size()) {
+            return zip(v, (x, y) -> x * y);
+        } else {
+            throw new VectorSizeMismatchException("Hadamard product of different sized vectors.");
+        }
+    }
+
+    /**
+     * Sums the elements of this vector. The summation order depends only on the size, so the result is the same
+     * whether or not it was computed in parallel.
+     * @return Returns the sum of the elements, 0.0 for an empty vector.
+     */
+    public double sum() {
+        return ElementwiseKernels.reduce(new double[][] {toArray()}, x -> x, 0.0, Double::sum);
+    }
+
+    /**
+     * @return Returns the smallest element of this vector, or NaN if it contains NaN.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector is empty.
+     */
+    public double min() throws VectorSizeMismatchException {
+        if (values.isEmpty()) {
+            throw new VectorSizeMismatchException("Minimum of empty vector.");
+        }
+
+        return ElementwiseKernels.reduce(new double[][] {toArray()}, x -> x, Double.POSITIVE_INFINITY, Math::min);
+    }
+
+    /**
+     * @return Returns the largest element of this vector, or NaN if it contains NaN.
+     * @throws VectorSizeMismatchException Throws VectorSizeMismatchException if the vector is empty.
+     */
+    public double max() throws VectorSizeMismatchException {
+        if (values.isEmpty()) {
+            throw new VectorSizeMismatchException("Maximum of empty vector.");
+        }
+
+        return ElementwiseKernels.reduce(new double[][] {toArray()}, x -> x, Double.NEGATIVE_INFINITY, Math::max);
+    }
+
+    /**
+     * @return Returns the Euclidean norm of this vector.
+     */
+    public double norm() {
+        return Math.sqrt(ElementwiseKernels.reduce(new double[][] {toArray()}, x -> x * x, 0.0, Double::sum));
+    }
+
+    /**
+     * Copies the values of this vector into a primitive array.
+     * @return Returns a new array of size getSize().
+     */
+    double[] toArray() {
+        double[] result = new double[values.size()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = values.get(i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Builds a vector from a primitive array.
+     * @param values Array to copy from.
+     * @return Returns a new vector holding the given values.
+     */
+    static Vector fromArray(double[] values) {
+        Vector result = new Vector();
+        for (double value : values) {
+            result.values.add(value);
+        }
+
+        return result;
+    }
+
     @Override
     public boolean equals(Object o) {
         double delta = 0.00001;
@@ -180,6 +315,14 @@ public class Vector {
         return true;
     }
 
+    /**
+     * Consistent with equals(), which tolerates small differences between elements: only the size is hashed.
+     */
+    @Override
+    public int hashCode() {
+        return values.size();
+    }
+
     @Override
     public String toString() {
         if (values != null) {
@@ -0,0 +1,79 @@
+package com.szhorvath;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The WorkerLauncher class starts MultiplicationWorker processes on the local machine, with the same Java runtime and
+ * class path as the current JVM, and stops them when closed.
+ */
+public class WorkerLauncher implements Closeable {
+    private final List<Process> processes = new ArrayList<>();
+    private final List<InetSocketAddress> addresses = new ArrayList<>();
+
+    /**
+     * Constructor to start the given number of worker processes. Returns once all of them are accepting connections.
+     * @param workerCount Number of worker processes to start.
+     * @param jvmArguments Extra JVM arguments for the workers, such as a heap size.
+     * @throws IOException Throws IOException if a worker process can't be started.
+     */
+    public WorkerLauncher(int workerCount, String... jvmArguments) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        for (String argument : jvmArguments) {
+            command.add(argument);
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MultiplicationWorker.class.getName());
+
+        try {
+            for (int i = 0; i < workerCount; ++i) {
+                Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+                processes.add(process);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                        StandardCharsets.US_ASCII));
+                String line = reader.readLine();
+                if (line == null || !line.startsWith("PORT ")) {
+                    throw new IOException("Worker process failed to start.");
+                }
+                addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                        Integer.parseInt(line.substring("PORT ".length()).trim())));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Returns the addresses of the started workers, in start order.
+     */
+    public List<InetSocketAddress> getAddresses() {
+        return new ArrayList<>(addresses);
+    }
+
+    /**
+     * Kills one worker process, without letting it finish its current work.
+     * @param index Index of the worker, in start order.
+     */
+    public void kill(int index) {
+        processes.get(index).destroyForcibly();
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+    }
+}
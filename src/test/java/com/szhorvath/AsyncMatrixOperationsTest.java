@@ -0,0 +1,118 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncMatrixOperationsTest {
+    private ExecutorService executor;
+    private Matrix matrix;
+
+    @BeforeEach
+    public void testSetup() {
+        executor = AsyncMatrixOperations.newVirtualThreadExecutor();
+        Vector v = new Vector();
+        v.add(12.0);
+        v.add(24.0);
+        v.add(12.0);
+        matrix = new Matrix();
+        matrix.add(v);
+        v = new Vector();
+        v.add(0.0);
+        v.add(6.0);
+        v.add(3.0);
+        matrix.add(v);
+        v = new Vector();
+        v.add(7.0);
+        v.add(0.0);
+        v.add(14.0);
+        matrix.add(v);
+    }
+
+    @AfterEach
+    public void testTeardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("AsyncMatrixOperations results test")
+    public void testResults() throws Exception {
+        AsyncMatrixOperations operations = new AsyncMatrixOperations(executor, 2);
+        CompletableFuture<Matrix> product = operations.multiplyMatrix(matrix, matrix);
+        CompletableFuture<Matrix> inverse = operations.inverse(matrix);
+        CompletableFuture<Double> determinant = operations.determinant(matrix);
+
+        assertEquals(matrix.multiplyMatrix(matrix), product.get(10, TimeUnit.SECONDS),
+                "AsyncMatrixOperations::multiplyMatrix produced wrong result.\n");
+        assertEquals(matrix.inverse(), inverse.get(10, TimeUnit.SECONDS),
+                "AsyncMatrixOperations::inverse produced wrong result.\n");
+        assertEquals(matrix.determinant(), determinant.get(10, TimeUnit.SECONDS), 0.00001,
+                "AsyncMatrixOperations::determinant produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("AsyncMatrixOperations exception test")
+    public void testException() {
+        AsyncMatrixOperations operations = new AsyncMatrixOperations(executor, 1);
+        ExecutionException exception = assertThrows(ExecutionException.class, () ->
+                operations.choleskyDecomposition(matrix).get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof MatrixOperationException);
+        assertEquals("Cholesky decomposition of non-symmetrical matrix.", exception.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("AsyncMatrixOperations backpressure test")
+    public void testBackpressure() throws Exception {
+        AsyncMatrixOperations operations = new AsyncMatrixOperations(executor, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> blocking = operations.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        });
+        assertEquals(0, operations.getAvailablePermits());
+
+        CompletableFuture<CompletableFuture<Matrix>> second = CompletableFuture.supplyAsync(() ->
+                operations.inverse(matrix));
+        Thread.sleep(100);
+        assertTrue(!second.isDone(), "AsyncMatrixOperations::submit should block while the limit is reached.\n");
+
+        release.countDown();
+        assertEquals(1, blocking.get(10, TimeUnit.SECONDS));
+        assertEquals(matrix.inverse(), second.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS),
+                "AsyncMatrixOperations::inverse produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("AsyncMatrixOperations cancellation test")
+    public void testCancellation() throws Exception {
+        AsyncMatrixOperations operations = new AsyncMatrixOperations(executor, 1);
+        double[][] values = new double[600][600];  // Permutation matrix: its powers stay finite, and raising it to
+        for (int i = 0; i < values.length; ++i) {  // Integer.MAX_VALUE takes 60 multiplications of 600x600 matrices.
+            values[i][(i * 7 + 3) % values.length] = 1.0;
+        }
+        CompletableFuture<Matrix> power = operations.power(Matrix.fromArray(values), Integer.MAX_VALUE);
+        Thread.sleep(100);
+        power.cancel(true);
+
+        assertTrue(power.isCancelled());
+        assertEquals(matrix.inverse(), assertTimeoutPreemptively(Duration.ofSeconds(30), () ->
+                operations.inverse(matrix).get()), "Cancelling should free the running operation's permit.\n");
+    }
+}
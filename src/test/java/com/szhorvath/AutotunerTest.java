@@ -0,0 +1,86 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AutotunerTest {
+    private final KernelParameters previous = KernelParameters.current();
+
+    @AfterEach
+    public void testTeardown() {
+        KernelParameters.setCurrent(previous);
+    }
+
+    @Test
+    @DisplayName("Autotuner::store and Autotuner::load test")
+    public void testStoreLoad(@TempDir Path directory) throws IOException {
+        Path profile = directory.resolve("nested").resolve("kernel-profile.properties");
+        KernelParameters parameters = new KernelParameters(128, 1L << 24, 16);
+        Autotuner.store(profile, parameters);
+
+        assertEquals(parameters, Autotuner.load(profile), "Autotuner::load produced wrong result.\n");
+        assertNull(Autotuner.load(directory.resolve("missing.properties")));
+    }
+
+    @Test
+    @DisplayName("Autotuner::load host mismatch test")
+    public void testLoadHostMismatch(@TempDir Path directory) throws IOException {
+        Path profile = directory.resolve("kernel-profile.properties");
+        Autotuner.store(profile, new KernelParameters(128, 1L << 24, 16));
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(profile)) {
+            lines.add(line.startsWith("host=") ? "host=other" : line);
+        }
+        Files.write(profile, lines);
+
+        assertNull(Autotuner.load(profile));
+    }
+
+    @Test
+    @DisplayName("Autotuner::loadOrCalibrate test")
+    public void testLoadOrCalibrate(@TempDir Path directory) {
+        Path profile = directory.resolve("kernel-profile.properties");
+        KernelParameters calibrated = new Autotuner(48, 64, 16, 48).loadOrCalibrate(profile);
+
+        assertTrue(Files.isRegularFile(profile));
+        assertEquals(calibrated, KernelParameters.current(), "Autotuner::loadOrCalibrate produced wrong result.\n");
+        assertEquals(calibrated, Autotuner.load(profile), "Autotuner::loadOrCalibrate produced wrong result.\n");
+
+        KernelParameters stored = new KernelParameters(32, Long.MAX_VALUE, 8);
+        KernelParameters.setCurrent(KernelParameters.defaults());
+        assertEquals(stored, new Autotuner(48, 64, 16, 48).loadOrCalibrate(storeAndReturn(profile, stored)),
+                "Autotuner::loadOrCalibrate produced wrong result.\n");
+        assertEquals(stored, KernelParameters.current(), "Autotuner::loadOrCalibrate produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("KernelParameters exception test")
+    public void testKernelParametersException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                new KernelParameters(0, 1, 32));
+        assertEquals("Kernel parameters out of range.", exception.getMessage());
+    }
+
+    private static Path storeAndReturn(Path profile, KernelParameters parameters) {
+        try {
+            Autotuner.store(profile, parameters);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return profile;
+    }
+}
@@ -0,0 +1,138 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CholeskyFactorTest {
+    private Matrix matrix;
+
+    @BeforeEach
+    public void testSetup() {
+        Vector v = new Vector();
+        v.add(4.0);
+        v.add(2.0);
+        v.add(-2.0);
+        matrix = new Matrix();
+        matrix.add(v);
+        v = new Vector();
+        v.add(2.0);
+        v.add(10.0);
+        v.add(2.0);
+        matrix.add(v);
+        v = new Vector();
+        v.add(-2.0);
+        v.add(2.0);
+        v.add(6.0);
+        matrix.add(v);
+    }
+
+    @Test
+    @DisplayName("CholeskyFactor::update test")
+    public void testUpdate() {
+        CholeskyFactor factor = new CholeskyFactor(matrix);
+        Vector x = new Vector();
+        x.add(1.0);
+        x.add(-1.0);
+        x.add(2.0);
+        factor.update(x);
+
+        assertEquals(matrix.addMatrix(outerProduct(x)).choleskyDecomposition(), factor.getL(),
+                "CholeskyFactor::update produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("CholeskyFactor::downdate test")
+    public void testDowndate() {
+        Vector x = new Vector();
+        x.add(1.0);
+        x.add(-1.0);
+        x.add(2.0);
+        CholeskyFactor factor = new CholeskyFactor(matrix.addMatrix(outerProduct(x)));
+        factor.downdate(x);
+
+        assertEquals(matrix.choleskyDecomposition(), factor.getL(),
+                "CholeskyFactor::downdate produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("CholeskyFactor::downdate exception test")
+    public void testDowndateException() {
+        CholeskyFactor factor = new CholeskyFactor(matrix);
+        Vector x = new Vector();
+        x.add(0.0);
+        x.add(4.0);
+        x.add(0.0);
+
+        Exception exception = assertThrows(MatrixOperationException.class, () ->
+                factor.downdate(x));
+        assertEquals("Cholesky downdate producing a non-positive definite matrix.", exception.getMessage());
+        assertEquals(matrix.choleskyDecomposition(), factor.getL(), "CholeskyFactor::downdate should leave the factor "
+                + "untouched.\n");
+    }
+
+    @Test
+    @DisplayName("CholeskyFactor::append test")
+    public void testAppend() {
+        CholeskyFactor factor = new CholeskyFactor();
+        for (int i = 0; i < matrix.getRowCount(); ++i) {
+            Vector column = new Vector();
+            for (int j = 0; j <= i; ++j) {
+                column.add(matrix.toArray()[i][j]);
+            }
+            factor.append(column);
+        }
+
+        assertEquals(matrix.choleskyDecomposition(), factor.getL(), "CholeskyFactor::append produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("CholeskyFactor::remove test")
+    public void testRemove() {
+        CholeskyFactor factor = new CholeskyFactor(matrix);
+        factor.remove(0);
+        Vector v = new Vector();
+        v.add(10.0);
+        v.add(2.0);
+        Matrix result = new Matrix();
+        result.add(v);
+        v = new Vector();
+        v.add(2.0);
+        v.add(6.0);
+        result.add(v);
+
+        assertEquals(result.choleskyDecomposition(), factor.getL(), "CholeskyFactor::remove produced wrong result.\n");
+        assertThrows(IndexOutOfBoundsException.class, () -> factor.remove(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> factor.remove(-1));
+        assertEquals(result.choleskyDecomposition(), factor.getL(), "CholeskyFactor::remove should leave the factor "
+                + "untouched.\n");
+    }
+
+    @Test
+    @DisplayName("CholeskyFactor::solve test")
+    public void testSolve() {
+        CholeskyFactor factor = new CholeskyFactor(matrix);
+        Vector b = new Vector();
+        b.add(4.0);
+        b.add(14.0);
+        b.add(6.0);
+        Vector result = new Vector();
+        result.add(1.0);
+        result.add(1.0);
+        result.add(1.0);
+
+        assertEquals(result, factor.solve(b), "CholeskyFactor::solve produced wrong result.\n");
+    }
+
+    private static Matrix outerProduct(Vector x) {
+        Matrix result = new Matrix();
+        for (Double value : x.getValues()) {
+            result.add(x.scalarProduct(value));
+        }
+
+        return result;
+    }
+}
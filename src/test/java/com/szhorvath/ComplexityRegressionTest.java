@@ -0,0 +1,481 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Regression tier for the cost of the public Matrix and Vector operations, every one which computes something:
+ * constructors, mutators, accessors, toString() and hashCode() aren't measured. For every operation it measures the
+ * bytes allocated per call on the calling thread over a range of sizes, and fits their growth order on a log-log scale.
+ * A test fails if the allocation at the largest size exceeds its budget, or if its growth order exceeds the expected
+ * one by more than a small margin.
+ * The running time is measured and fitted the same way, but wall clock time depends on the host's load, so that test
+ * is tagged "timing" and excluded from the default build. It runs with the timing profile: mvn test -Ptiming.
+ * Kernels run sequentially here, so every allocation happens on the measured thread.
+ */
+@Timeout(300)
+public class ComplexityRegressionTest {
+    private static final double ALLOCATION_ORDER_MARGIN = 0.25;
+    private static final double TIME_ORDER_MARGIN = 0.75;
+    private static final int[] VECTOR_SIZES = {4096, 8192, 16384, 32768, 65536};
+    private static final int[] MATRIX_SIZES = {32, 64, 128, 256};
+    private static final int[] CUBIC_SIZES = {24, 48, 96, 192};
+    // The blocked QR's workspace is only O(N^2) once there are several panels of 32 columns.
+    private static final int[] QR_SIZES = {64, 128, 256, 384};
+
+    private KernelParameters previous;
+
+    @BeforeEach
+    public void testSetup() {
+        assumeTrue(threads().isThreadAllocatedMemorySupported(), "Allocation counters are unavailable.");
+        threads().setThreadAllocatedMemoryEnabled(true);
+        previous = KernelParameters.current();
+        KernelParameters.setCurrent(new KernelParameters(64, Long.MAX_VALUE, 32));
+    }
+
+    @AfterEach
+    public void testTeardown() {
+        if (previous != null) {
+            KernelParameters.setCurrent(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Vector operations allocation test")
+    public void testVectorOperations() {
+        for (Cost cost : vectorOperations()) {
+            assertAllocation(cost);
+        }
+    }
+
+    @Test
+    @DisplayName("Matrix element-wise operations allocation test")
+    public void testMatrixElementwiseOperations() {
+        for (Cost cost : matrixElementwiseOperations()) {
+            assertAllocation(cost);
+        }
+    }
+
+    @Test
+    @DisplayName("Matrix cubic operations allocation test")
+    public void testMatrixCubicOperations() {
+        for (Cost cost : matrixCubicOperations()) {
+            assertAllocation(cost);
+        }
+    }
+
+    @Test
+    @Tag("timing")
+    @DisplayName("Matrix and Vector operations running time test")
+    public void testRunningTime() {
+        List<Cost> costs = new ArrayList<>(vectorOperations());
+        costs.addAll(matrixElementwiseOperations());
+        costs.addAll(matrixCubicOperations());
+        for (Cost cost : costs) {
+            double[] nanos = new double[cost.sizes.length];
+            for (int i = 0; i < cost.sizes.length; ++i) {
+                nanos[i] = Math.max(1.0, bestTime(cost.operation.apply(cost.sizes[i])));
+            }
+            double measuredTimeOrder = order(cost.sizes, nanos);
+
+            assertTrue(measuredTimeOrder <= cost.timeOrder + TIME_ORDER_MARGIN, cost.name +
+                    "'s running time grows with order " + measuredTimeOrder + ", expected " + cost.timeOrder + ".\n");
+        }
+    }
+
+    private static List<Cost> vectorOperations() {
+        List<Cost> result = new ArrayList<>();
+        result.add(new Cost("Vector::addVector", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            Vector b = vector(n, 2);
+            return () -> a.addVector(b);
+        }, 1.0, 64.0, 1.0));
+        result.add(new Cost("Vector::addVector sparse", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            SparseVector b = sparseVector(n, 2);
+            return () -> a.addVector(b);
+        }, 1.0, 64.0, 1.0));
+        result.add(new Cost("Vector::subtractVector", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            Vector b = vector(n, 2);
+            return () -> a.subtractVector(b);
+        }, 1.0, 64.0, 1.0));
+        result.add(new Cost("Vector::scalarProduct", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            return () -> a.scalarProduct(3.0);
+        }, 1.0, 64.0, 1.0));
+        result.add(new Cost("Vector::dotProduct", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            Vector b = vector(n, 2);
+            return () -> a.dotProduct(b);
+        }, 0.0, 64.0, 1.0));
+        result.add(new Cost("Vector::dotProduct sparse", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            SparseVector b = sparseVector(n, 2);
+            return () -> a.dotProduct(b);
+        }, 0.0, 256.0, 1.0));
+        result.add(new Cost("Vector::hadamardProduct", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            Vector b = vector(n, 2);
+            return () -> a.hadamardProduct(b);
+        }, 1.0, 96.0, 1.0));
+        result.add(new Cost("Vector::map", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            return () -> a.map(Math::abs);
+        }, 1.0, 80.0, 1.0));
+        result.add(new Cost("Vector::zip", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            Vector b = vector(n, 2);
+            return () -> a.zip(b, Math::max);
+        }, 1.0, 96.0, 1.0));
+        result.add(new Cost("Vector::sum", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            return a::sum;
+        }, 1.0, 16.0, 1.0));
+        result.add(new Cost("Vector::min", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            return a::min;
+        }, 1.0, 16.0, 1.0));
+        result.add(new Cost("Vector::max", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            return a::max;
+        }, 1.0, 16.0, 1.0));
+        result.add(new Cost("Vector::norm", VECTOR_SIZES, n -> {
+            Vector a = vector(n, 1);
+            return a::norm;
+        }, 1.0, 16.0, 1.0));
+        result.add(new Cost("Matrix::getSparseRow", VECTOR_SIZES, n -> {
+            Matrix a = rectangular(4, n, 1);
+            return () -> a.getSparseRow(2);
+        }, 1.0, 32.0, 1.0));
+        result.add(new Cost("Matrix::getSparseColumn", VECTOR_SIZES, n -> {
+            Matrix a = rectangular(n, 4, 1);
+            return () -> a.getSparseColumn(2);
+        }, 1.0, 48.0, 1.0));
+
+        return result;
+    }
+
+    private static List<Cost> matrixElementwiseOperations() {
+        List<Cost> result = new ArrayList<>();
+        result.add(new Cost("Matrix::addMatrix", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            Matrix b = matrix(n, 2);
+            return () -> a.addMatrix(b);
+        }, 2.0, 96.0, 2.0));
+        result.add(new Cost("Matrix::subtractMatrix", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            Matrix b = matrix(n, 2);
+            return () -> a.subtractMatrix(b);
+        }, 2.0, 96.0, 2.0));
+        result.add(new Cost("Matrix::scalarProduct", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return () -> a.scalarProduct(3.0);
+        }, 2.0, 64.0, 2.0));
+        result.add(new Cost("Matrix::transpose", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::transpose;
+        }, 2.0, 96.0, 2.0));
+        result.add(new Cost("Matrix::hadamardProduct", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            Matrix b = matrix(n, 2);
+            return () -> a.hadamardProduct(b);
+        }, 2.0, 96.0, 2.0));
+        result.add(new Cost("Matrix::map", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return () -> a.map(Math::abs);
+        }, 2.0, 80.0, 2.0));
+        result.add(new Cost("Matrix::zip", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            Matrix b = matrix(n, 2);
+            return () -> a.zip(b, Math::max);
+        }, 2.0, 96.0, 2.0));
+        result.add(new Cost("Matrix::apply", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            double[] x = vector(n, 2).toArray();
+            double[] y = new double[n];
+            return () -> a.apply(x, y);
+        }, 0.0, 64.0, 2.0));
+        result.add(new Cost("Matrix::sum", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::sum;
+        }, 2.0, 16.0, 2.0));
+        result.add(new Cost("Matrix::min", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::min;
+        }, 2.0, 16.0, 2.0));
+        result.add(new Cost("Matrix::max", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::max;
+        }, 2.0, 16.0, 2.0));
+        result.add(new Cost("Matrix::frobeniusNorm", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::frobeniusNorm;
+        }, 2.0, 16.0, 2.0));
+        result.add(new Cost("Matrix::normOne", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::normOne;
+        }, 2.0, 16.0, 2.0));
+        result.add(new Cost("Matrix::normInfinity", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::normInfinity;
+        }, 2.0, 16.0, 2.0));
+        result.add(new Cost("Matrix::rowSums", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::rowSums;
+        }, 2.0, 16.0, 2.0));
+        result.add(new Cost("Matrix::columnSums", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::columnSums;
+        }, 2.0, 16.0, 2.0));
+        result.add(new Cost("Matrix::fingerprint", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::fingerprint;
+        }, 1.0, 64.0, 2.0));
+        result.add(new Cost("Matrix::equals", MATRIX_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            Matrix b = matrix(n, 1);
+            return () -> a.equals(b);
+        }, 0.0, 256.0, 2.0));
+
+        return result;
+    }
+
+    private static List<Cost> matrixCubicOperations() {
+        List<Cost> result = new ArrayList<>();
+        result.add(new Cost("Matrix::multiplyMatrix", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            Matrix b = matrix(n, 2);
+            return () -> a.multiplyMatrix(b);
+        }, 2.0, 96.0, 3.0));
+        result.add(new Cost("Matrix::multiplyChain", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            Matrix b = matrix(n, 2);
+            Matrix c = matrix(n, 3);
+            return () -> Matrix.multiplyChain(a, b, c);
+        }, 2.0, 128.0, 3.0));
+        result.add(new Cost("Matrix::determinant", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::determinant;
+        }, 2.0, 32.0, 3.0));
+        result.add(new Cost("Matrix::inverse", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::inverse;
+        }, 2.0, 128.0, 3.0));
+        result.add(new Cost("Matrix::choleskyDecomposition", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::choleskyDecomposition;
+        }, 2.0, 128.0, 3.0));
+        result.add(new Cost("Matrix::power", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1).scalarProduct(1.0 / n);
+            return () -> a.power(5);
+        }, 2.0, 128.0, 3.0));
+        result.add(new Cost("Matrix::transposeMultiplySelfPacked", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::transposeMultiplySelfPacked;
+        }, 2.0, 32.0, 3.0));
+        result.add(new Cost("Matrix::multiplySelfTransposePacked", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::multiplySelfTransposePacked;
+        }, 2.0, 32.0, 3.0));
+        result.add(new Cost("Matrix::qrDecomposition", QR_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::qrDecomposition;
+        }, 2.0, 48.0, 3.0));
+        result.add(new Cost("Matrix::solveLeastSquares", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            Vector b = vector(n, 2);
+            return () -> a.solveLeastSquares(b);
+        }, 2.0, 48.0, 3.0));
+        result.add(new Cost("Matrix::eigenDecomposition", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return a::eigenDecomposition;
+        }, 2.0, 96.0, 3.0));
+        result.add(new Cost("Matrix::eigenDecomposition largest", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return () -> a.eigenDecomposition(4);
+        }, 2.0, 48.0, 3.0));
+        result.add(new Cost("Matrix::randomizedSvd", CUBIC_SIZES, n -> {
+            Matrix a = matrix(n, 1);
+            return () -> a.randomizedSvd(4, 1);
+        }, 2.0, 48.0, 2.0));
+
+        return result;
+    }
+
+    /**
+     * Measures an operation's allocation over the given sizes and checks its budget and growth order.
+     */
+    private static void assertAllocation(Cost cost) {
+        int[] sizes = cost.sizes;
+        double[] bytes = new double[sizes.length];
+        for (int i = 0; i < sizes.length; ++i) {
+            bytes[i] = Math.max(1.0, allocatedBytes(cost.operation.apply(sizes[i])));
+        }
+        int last = sizes.length - 1;
+        double bytesPerUnit = bytes[last] / Math.pow(sizes[last], cost.allocationOrder);
+        double measuredAllocationOrder = order(sizes, bytes);
+
+        assertTrue(bytesPerUnit <= cost.bytesBudget, cost.name + " allocates " + bytes[last] + " bytes at size " +
+                sizes[last] + ", over its budget.\n");
+        assertTrue(measuredAllocationOrder <= cost.allocationOrder + ALLOCATION_ORDER_MARGIN, cost.name +
+                "'s allocation grows with order " + measuredAllocationOrder + ", expected " + cost.allocationOrder +
+                ".\n");
+    }
+
+    /**
+     * Runs the call a few times to warm it up, then returns the fewest bytes a single call allocated.
+     */
+    private static long allocatedBytes(Runnable call) {
+        com.sun.management.ThreadMXBean threads = threads();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < 3; ++i) {
+            call.run();
+        }
+        long result = Long.MAX_VALUE;
+        for (int i = 0; i < 3; ++i) {
+            long start = threads.getThreadAllocatedBytes(thread);
+            call.run();
+            result = Math.min(result, threads.getThreadAllocatedBytes(thread) - start);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the fastest running time of the call in nanoseconds, repeating it for at least 20 milliseconds.
+     */
+    private static long bestTime(Runnable call) {
+        long result = Long.MAX_VALUE;
+        long deadline = System.nanoTime() + 20_000_000L;
+        for (int i = 0; i < 5 || System.nanoTime() < deadline; ++i) {
+            long start = System.nanoTime();
+            call.run();
+            result = Math.min(result, System.nanoTime() - start);
+        }
+
+        return result;
+    }
+
+    /**
+     * Least squares slope of log(cost) against log(size).
+     */
+    private static double order(int[] sizes, double[] costs) {
+        double meanX = 0.0;
+        double meanY = 0.0;
+        for (int i = 0; i < sizes.length; ++i) {
+            meanX += Math.log(sizes[i]) / sizes.length;
+            meanY += Math.log(costs[i]) / sizes.length;
+        }
+        double covariance = 0.0;
+        double variance = 0.0;
+        for (int i = 0; i < sizes.length; ++i) {
+            double x = Math.log(sizes[i]) - meanX;
+            covariance += x * (Math.log(costs[i]) - meanY);
+            variance += x * x;
+        }
+
+        return covariance / variance;
+    }
+
+    /**
+     * Sparse vector with every eighth element stored.
+     */
+    private static SparseVector sparseVector(int size, long seed) {
+        Random random = new Random(seed);
+        int[] indices = new int[size / 8];
+        double[] values = new double[size / 8];
+        for (int i = 0; i < indices.length; ++i) {
+            indices[i] = 8 * i;
+            values[i] = random.nextDouble() - 0.5;
+        }
+
+        return new SparseVector(size, indices, values);
+    }
+
+    private static Matrix rectangular(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        double[][] values = new double[rowCount][columnCount];
+        for (double[] row : values) {
+            for (int j = 0; j < columnCount; ++j) {
+                row[j] = random.nextDouble() - 0.5;
+            }
+        }
+
+        return Matrix.fromArray(values);
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    private static Vector vector(int size, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = random.nextDouble() - 0.5;
+        }
+
+        return Vector.fromArray(values);
+    }
+
+    /**
+     * Random symmetric, diagonally dominant matrix, so every operation (Cholesky decomposition included) succeeds.
+     */
+    private static Matrix matrix(int size, long seed) {
+        Random random = new Random(seed);
+        double[][] values = new double[size][size];
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < i; ++j) {
+                values[i][j] = random.nextDouble() - 0.5;
+                values[j][i] = values[i][j];
+            }
+            values[i][i] = size;
+        }
+
+        return Matrix.fromArray(values);
+    }
+
+    /**
+     * An operation to measure.
+     */
+    private static final class Cost {
+        private final String name;
+        private final int[] sizes;
+        private final IntFunction<Runnable> operation;
+        private final double allocationOrder;
+        private final double bytesBudget;
+        private final double timeOrder;
+
+        /**
+         * @param name Name of the operation, for the failure messages.
+         * @param sizes Increasing problem sizes.
+         * @param operation Builds the inputs of the given size, and returns the call to measure on them.
+         * @param allocationOrder Expected growth order of the allocated bytes.
+         * @param bytesBudget Bytes allowed per unit of size^allocationOrder, at the largest size.
+         * @param timeOrder Expected growth order of the running time.
+         */
+        private Cost(String name, int[] sizes, IntFunction<Runnable> operation, double allocationOrder,
+                     double bytesBudget, double timeOrder) {
+            this.name = name;
+            this.sizes = sizes;
+            this.operation = operation;
+            this.allocationOrder = allocationOrder;
+            this.bytesBudget = bytesBudget;
+            this.timeOrder = timeOrder;
+        }
+    }
+}
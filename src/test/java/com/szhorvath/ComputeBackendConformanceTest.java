@@ -0,0 +1,346 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Conformance tests every ComputeBackend has to pass. They are published in the project's test-jar, so a provider's
+ * test class, in its own project, extends this one and returns the backend from createBackend(). Results are compared
+ * against straightforward reference implementations, with a tolerance relative to the size of the operands, so
+ * backends are free to reorder their arithmetic.
+ */
+public abstract class ComputeBackendConformanceTest {
+    private static final double TOLERANCE = 1e-12;
+
+    private ComputeBackend backend;
+    private Random random;
+
+    protected abstract ComputeBackend createBackend();
+
+    @BeforeEach
+    public void testSetup() {
+        backend = createBackend();
+        random = new Random(11);
+    }
+
+    @Test
+    @DisplayName("ComputeBackend::getName conformance test")
+    public void testName() {
+        assertFalse(backend.getName().isEmpty(), "ComputeBackend::getName should not be empty.\n");
+    }
+
+    @Test
+    @DisplayName("ComputeBackend::gemm conformance test")
+    public void testGemm() {
+        for (int[] size : new int[][] {{1, 1, 1}, {7, 5, 3}, {70, 130, 90}, {3, 0, 4}}) {
+            double[][] a = random(size[0], size[1]);
+            double[][] b = random(size[1], size[2]);
+            double[][] product = size[1] == 0 ? new double[size[0]][size[2]] : reference(a, b);
+
+            double[][] c = filled(size[0], size[2], Double.NaN);
+            backend.gemm(1.0, a, b, 0.0, c);
+            assertClose(product, c, size[1], "ComputeBackend::gemm produced wrong result.\n");
+
+            double[][] initial = random(size[0], size[2]);
+            c = DenseKernels.copy(initial);
+            backend.gemm(-2.0, a, b, 0.5, c);
+            double[][] expected = new double[size[0]][size[2]];
+            for (int i = 0; i < size[0]; ++i) {
+                for (int j = 0; j < size[2]; ++j) {
+                    expected[i][j] = -2.0 * product[i][j] + 0.5 * initial[i][j];
+                }
+            }
+            assertClose(expected, c, size[1], "ComputeBackend::gemm produced wrong result.\n");
+
+            c = DenseKernels.copy(initial);
+            backend.gemm(1.0, a, b, 1.0, c);
+            for (int i = 0; i < size[0]; ++i) {
+                for (int j = 0; j < size[2]; ++j) {
+                    expected[i][j] = product[i][j] + initial[i][j];
+                }
+            }
+            assertClose(expected, c, size[1], "ComputeBackend::gemm produced wrong result.\n");
+        }
+    }
+
+    @Test
+    @DisplayName("ComputeBackend::gemv conformance test")
+    public void testGemv() {
+        double[][] a = random(40, 25);
+        double[] x = random(1, 25)[0];
+        double[] initial = random(1, 40)[0];
+        double[][] column = new double[25][1];
+        for (int i = 0; i < 25; ++i) {
+            column[i][0] = x[i];
+        }
+        double[][] product = reference(a, column);
+
+        double[] y = filled(1, 40, Double.NaN)[0];
+        backend.gemv(1.0, a, x, 0.0, y);
+        for (int i = 0; i < 40; ++i) {
+            assertEquals(product[i][0], y[i], 25 * TOLERANCE, "ComputeBackend::gemv produced wrong result.\n");
+        }
+        y = initial.clone();
+        backend.gemv(3.0, a, x, -1.0, y);
+        for (int i = 0; i < 40; ++i) {
+            assertEquals(3.0 * product[i][0] - initial[i], y[i], 25 * TOLERANCE,
+                    "ComputeBackend::gemv produced wrong result.\n");
+        }
+    }
+
+    @Test
+    @DisplayName("ComputeBackend::axpy and ComputeBackend::dot conformance test")
+    public void testAxpyDot() {
+        double[] x = random(1, 1000)[0];
+        double[] y = random(1, 1000)[0];
+        double expected = 0.0;
+        for (int i = 0; i < x.length; ++i) {
+            expected += x[i] * y[i];
+        }
+
+        assertEquals(expected, backend.dot(x, y), 1000 * TOLERANCE, "ComputeBackend::dot produced wrong result.\n");
+        assertEquals(0.0, backend.dot(new double[0], new double[0]), "ComputeBackend::dot produced wrong result.\n");
+
+        double[] result = y.clone();
+        backend.axpy(-0.75, x, result);
+        for (int i = 0; i < x.length; ++i) {
+            assertEquals(y[i] - 0.75 * x[i], result[i], TOLERANCE, "ComputeBackend::axpy produced wrong result.\n");
+        }
+    }
+
+    @Test
+    @DisplayName("ComputeBackend::luDecompose conformance test")
+    public void testLu() {
+        int n = 50;
+        double[][] a = random(n, n);
+        double[][] lu = DenseKernels.copy(a);
+        int[] pivots = new int[n];
+        backend.luDecompose(lu, pivots);
+
+        double[][] l = new double[n][n];
+        double[][] u = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                if (j < i) {
+                    l[i][j] = lu[i][j];
+                } else {
+                    u[i][j] = lu[i][j];
+                }
+            }
+            l[i][i] = 1.0;
+        }
+        double[][] permuted = new double[n][];
+        for (int i = 0; i < n; ++i) {
+            permuted[i] = a[pivots[i]];
+        }
+        assertClose(permuted, reference(l, u), n, "ComputeBackend::luDecompose produced wrong result.\n");
+
+        double[] x = random(1, n)[0];
+        double[] b = new double[n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                b[i] += a[i][j] * x[j];
+            }
+        }
+        double[] solution = backend.luSolve(lu, pivots, b);
+        for (int i = 0; i < n; ++i) {
+            assertEquals(x[i], solution[i], 1e-8, "ComputeBackend::luSolve produced wrong result.\n");
+        }
+
+        double[][] singular = {{1.0, 2.0}, {2.0, 4.0}};
+        assertThrows(MatrixOperationException.class, () -> backend.luDecompose(singular, new int[2]));
+    }
+
+    @Test
+    @DisplayName("ComputeBackend::choleskyDecompose conformance test")
+    public void testCholesky() {
+        int n = 40;
+        double[][] m = random(n, n);
+        double[][] a = reference(m, transpose(m));
+        for (int i = 0; i < n; ++i) {
+            a[i][i] += n;
+        }
+        double[][] l = DenseKernels.copy(a);
+        backend.choleskyDecompose(l);
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = i + 1; j < n; ++j) {
+                assertEquals(0.0, l[i][j], "ComputeBackend::choleskyDecompose should zero the upper triangle.\n");
+            }
+        }
+        assertClose(a, reference(l, transpose(l)), n, "ComputeBackend::choleskyDecompose produced wrong result.\n");
+
+        double[][] indefinite = {{1.0, 2.0}, {2.0, 1.0}};
+        assertThrows(MatrixOperationException.class, () -> backend.choleskyDecompose(indefinite));
+    }
+
+    @Test
+    @DisplayName("ComputeBackend::qrDecompose conformance test")
+    public void testQr() {
+        int rows = 90;
+        int columns = 35;
+        double[][] a = random(rows, columns);
+        double[][] original = DenseKernels.copy(a);
+        double[][] q = new double[rows][columns];
+        double[][] r = new double[columns][columns];
+        backend.qrDecompose(a, q, r);
+
+        assertClose(original, a, 0, "ComputeBackend::qrDecompose should leave its input untouched.\n");
+        assertClose(original, reference(q, r), columns, "ComputeBackend::qrDecompose produced wrong result.\n");
+        assertClose(DenseKernels.identity(columns), reference(transpose(q), q), rows,
+                "ComputeBackend::qrDecompose should produce orthonormal columns.\n");
+        for (int i = 0; i < columns; ++i) {
+            for (int j = 0; j < i; ++j) {
+                assertEquals(0.0, r[i][j], "ComputeBackend::qrDecompose should produce an upper triangular R.\n");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("ComputeBackend symmetric rank-k product conformance test")
+    public void testSyrk() {
+        for (int[] size : new int[][] {{1, 1}, {9, 4}, {60, 75}}) {
+            double[][] a = random(size[0], size[1]);
+            double[][] gram = reference(transpose(a), a);
+            double[][] outer = reference(a, transpose(a));
+
+            assertPacked(gram, backend.transposeMultiplySelf(a), size[0],
+                    "ComputeBackend::transposeMultiplySelf produced wrong result.\n");
+            assertPacked(outer, backend.multiplySelfTranspose(a), size[1],
+                    "ComputeBackend::multiplySelfTranspose produced wrong result.\n");
+        }
+    }
+
+    @Test
+    @DisplayName("ComputeBackend::symmetricEigenDecompose conformance test")
+    public void testSymmetricEigen() {
+        int n = 30;
+        double[][] m = random(n, n);
+        double[][] a = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                a[i][j] = m[i][j];
+                a[j][i] = m[i][j];
+            }
+        }
+        for (int count : new int[] {n, 3}) {
+            double[][] work = DenseKernels.copy(a);
+            for (int i = 0; i < n; ++i) {
+                for (int j = i + 1; j < n; ++j) {
+                    work[i][j] = Double.NaN;  // Only the lower triangle may be read.
+                }
+            }
+            double[] values = new double[count];
+            double[][] vectors = new double[n][count];
+            backend.symmetricEigenDecompose(work, values, vectors);
+
+            double[][] product = reference(a, vectors);
+            for (int j = 0; j < count; ++j) {
+                if (j > 0) {
+                    assertTrue(values[j - 1] >= values[j], "Eigenvalues should be in decreasing order.\n");
+                }
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(values[j] * vectors[i][j], product[i][j], 1e-9,
+                            "ComputeBackend::symmetricEigenDecompose produced wrong eigenpair.\n");
+                }
+            }
+            assertClose(DenseKernels.identity(count), reference(transpose(vectors), vectors), n,
+                    "ComputeBackend::symmetricEigenDecompose should produce orthonormal eigenvectors.\n");
+        }
+    }
+
+    @Test
+    @DisplayName("ComputeBackend Matrix integration conformance test")
+    public void testMatrixIntegration() {
+        double[][] a = random(33, 17);
+        double[][] b = random(17, 21);
+        ComputeBackend previous = ComputeBackends.get();
+        try {
+            ComputeBackends.set(backend);
+
+            assertEquals(Matrix.fromArray(reference(a, b)), Matrix.fromArray(a).multiplyMatrix(Matrix.fromArray(b)),
+                    "Matrix::multiplyMatrix produced wrong result on the backend.\n");
+            Matrix square = Matrix.fromArray(random(12, 12));
+            assertEquals(Matrix.fromArray(DenseKernels.identity(12)), square.multiplyMatrix(square.inverse()),
+                    "Matrix::inverse produced wrong result on the backend.\n");
+            assertEquals(-1.0, Matrix.fromArray(new double[][] {{0.0, 1.0, 0.0}, {1.0, 0.0, 0.0}, {0.0, 0.0, 1.0}})
+                    .determinant(), 1e-12, "Matrix::determinant produced wrong result on the backend.\n");
+        } finally {
+            ComputeBackends.set(previous);
+        }
+    }
+
+    private double[][] random(int rowCount, int columnCount) {
+        double[][] result = new double[rowCount][columnCount];
+        for (double[] row : result) {
+            for (int j = 0; j < columnCount; ++j) {
+                row[j] = random.nextDouble() * 2.0 - 1.0;
+            }
+        }
+
+        return result;
+    }
+
+    private static double[][] filled(int rowCount, int columnCount, double value) {
+        double[][] result = new double[rowCount][columnCount];
+        for (double[] row : result) {
+            Arrays.fill(row, value);
+        }
+
+        return result;
+    }
+
+    private static double[][] reference(double[][] a, double[][] b) {
+        int columns = b.length == 0 ? 0 : b[0].length;
+        double[][] result = new double[a.length][columns];
+        for (int i = 0; i < a.length; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                double sum = 0.0;
+                for (int k = 0; k < b.length; ++k) {
+                    sum += a[i][k] * b[k][j];
+                }
+                result[i][j] = sum;
+            }
+        }
+
+        return result;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        double[][] result = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; ++i) {
+            for (int j = 0; j < a[i].length; ++j) {
+                result[j][i] = a[i][j];
+            }
+        }
+
+        return result;
+    }
+
+    private static void assertPacked(double[][] expected, double[] actual, int size, String message) {
+        assertEquals(expected.length * (expected.length + 1) / 2, actual.length, message);
+        for (int i = 0; i < expected.length; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                assertEquals(expected[i][j], actual[i * (i + 1) / 2 + j], Math.max(1, size) * TOLERANCE * 10, message);
+            }
+        }
+    }
+
+    private static void assertClose(double[][] expected, double[][] actual, int size, String message) {
+        assertEquals(expected.length, actual.length, message);
+        for (int i = 0; i < expected.length; ++i) {
+            for (int j = 0; j < expected[i].length; ++j) {
+                assertEquals(expected[i][j], actual[i][j], Math.max(1, size) * TOLERANCE * 10, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ComputeBackendsTest {
+
+    @Test
+    @DisplayName("ComputeBackends::available test")
+    public void testAvailable() {
+        assertTrue(ComputeBackends.available().stream().anyMatch(backend -> backend instanceof JavaComputeBackend),
+                "ServiceLoader should find the pure Java backend.\n");
+    }
+
+    @Test
+    @DisplayName("ComputeBackends::select test")
+    public void testSelect() {
+        assertEquals(JavaComputeBackend.NAME, ComputeBackends.select(null).getName(),
+                "ComputeBackends::select produced wrong result.\n");
+        assertEquals(JavaComputeBackend.NAME, ComputeBackends.select("java").getName(),
+                "ComputeBackends::select produced wrong result.\n");
+
+        Exception exception = assertThrows(IllegalStateException.class, () ->
+                ComputeBackends.select("missing"));
+        assertEquals("Unknown compute backend: missing.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("ComputeBackends::set test")
+    public void testSet() {
+        ComputeBackend previous = ComputeBackends.get();
+        ComputeBackend custom = new JavaComputeBackend() {
+            @Override
+            public String getName() {
+                return "custom";
+            }
+        };
+        try {
+            ComputeBackends.set(custom);
+            assertEquals("custom", ComputeBackends.get().getName(), "ComputeBackends::get produced wrong result.\n");
+            ComputeBackends.set(null);
+            assertEquals(JavaComputeBackend.NAME, ComputeBackends.get().getName(),
+                    "ComputeBackends::get produced wrong result.\n");
+        } finally {
+            ComputeBackends.set(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("ComputeBackends routing test")
+    public void testRouting() {
+        Set<String> calls = new HashSet<>();
+        ComputeBackend recording = new JavaComputeBackend() {
+            @Override
+            public void gemm(double alpha, double[][] a, double[][] b, double beta, double[][] c) {
+                calls.add("gemm");
+                super.gemm(alpha, a, b, beta, c);
+            }
+
+            @Override
+            public void gemv(double alpha, double[][] a, double[] x, double beta, double[] y) {
+                calls.add("gemv");
+                super.gemv(alpha, a, x, beta, y);
+            }
+
+            @Override
+            public void axpy(double alpha, double[] x, double[] y) {
+                calls.add("axpy");
+                super.axpy(alpha, x, y);
+            }
+
+            @Override
+            public double dot(double[] x, double[] y) {
+                calls.add("dot");
+                return super.dot(x, y);
+            }
+
+            @Override
+            public void luDecompose(double[][] a, int[] pivots) {
+                calls.add("luDecompose");
+                super.luDecompose(a, pivots);
+            }
+
+            @Override
+            public double[] luSolve(double[][] lu, int[] pivots, double[] b) {
+                calls.add("luSolve");
+                return super.luSolve(lu, pivots, b);
+            }
+
+            @Override
+            public void choleskyDecompose(double[][] a) {
+                calls.add("choleskyDecompose");
+                super.choleskyDecompose(a);
+            }
+
+            @Override
+            public void qrDecompose(double[][] a, double[][] q, double[][] r) {
+                calls.add("qrDecompose");
+                super.qrDecompose(a, q, r);
+            }
+
+            @Override
+            public double[] transposeMultiplySelf(double[][] a) {
+                calls.add("transposeMultiplySelf");
+                return super.transposeMultiplySelf(a);
+            }
+
+            @Override
+            public double[] multiplySelfTranspose(double[][] a) {
+                calls.add("multiplySelfTranspose");
+                return super.multiplySelfTranspose(a);
+            }
+
+            @Override
+            public void symmetricEigenDecompose(double[][] a, double[] values, double[][] vectors) {
+                calls.add("symmetricEigenDecompose");
+                super.symmetricEigenDecompose(a, values, vectors);
+            }
+        };
+        Matrix m = Matrix.fromArray(new double[][] {{4.0, 1.0, 0.0}, {1.0, 3.0, 1.0}, {0.0, 1.0, 2.0}});
+        ComputeBackend previous = ComputeBackends.get();
+        try {
+            ComputeBackends.set(recording);
+            m.determinant();
+            assertEquals(new HashSet<>(Arrays.asList("luDecompose")), calls,
+                    "Matrix::determinant should run on the backend.\n");
+            calls.clear();
+            m.inverse();
+            assertEquals(new HashSet<>(Arrays.asList("luDecompose", "luSolve")), calls,
+                    "Matrix::inverse should run on the backend.\n");
+            calls.clear();
+            m.choleskyDecomposition();
+            assertEquals(new HashSet<>(Arrays.asList("choleskyDecompose")), calls,
+                    "Matrix::choleskyDecomposition should run on the backend.\n");
+            calls.clear();
+            m.transposeMultiplySelf();
+            m.multiplySelfTranspose();
+            new CovarianceAccumulator(3).add(m);
+            assertEquals(new HashSet<>(Arrays.asList("transposeMultiplySelf", "multiplySelfTranspose")), calls,
+                    "The symmetric rank-k products should run on the backend.\n");
+            calls.clear();
+            m.eigenDecomposition(1);
+            assertEquals(new HashSet<>(Arrays.asList("symmetricEigenDecompose")), calls,
+                    "Matrix::eigenDecomposition should run on the backend.\n");
+            calls.clear();
+            IncrementalInverse incremental = new IncrementalInverse(m);
+            incremental.update(Matrix.fromArray(new double[][] {{0.1}, {0.0}, {0.2}}),
+                    Matrix.fromArray(new double[][] {{0.0}, {0.3}, {0.1}}));
+            assertTrue(calls.containsAll(Arrays.asList("luDecompose", "luSolve", "gemm", "gemv")),
+                    "IncrementalInverse should run on the backend.\n");
+        } finally {
+            ComputeBackends.set(previous);
+        }
+    }
+}
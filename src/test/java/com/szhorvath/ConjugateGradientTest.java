@@ -0,0 +1,92 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConjugateGradientTest {
+    private Matrix matrix;
+    private Vector b;
+
+    /**
+     * Sets up the 1D Laplacian tridiag(-1, 2, -1) + I, and a right-hand side with a known solution.
+     */
+    @BeforeEach
+    public void testSetup() {
+        int n = 40;
+        double[][] values = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            values[i][i] = 3.0;
+            if (i > 0) {
+                values[i][i - 1] = -1.0;
+                values[i - 1][i] = -1.0;
+            }
+        }
+        matrix = Matrix.fromArray(values);
+        double[] solution = new double[n];
+        for (int i = 0; i < n; ++i) {
+            solution[i] = Math.sin(i);
+        }
+        double[] rhs = new double[n];
+        matrix.apply(solution, rhs);
+        b = Vector.fromArray(rhs);
+    }
+
+    private Vector expectedSolution() {
+        Vector result = new Vector();
+        for (int i = 0; i < b.getSize(); ++i) {
+            result.add(Math.sin(i));
+        }
+
+        return result;
+    }
+
+    @Test
+    @DisplayName("ConjugateGradient::solve test")
+    public void testSolve() {
+        ConjugateGradient solver = new ConjugateGradient();
+        List<Double> residuals = new ArrayList<>();
+        solver.setListener((iteration, residualNorm) -> residuals.add(residualNorm));
+
+        assertEquals(expectedSolution(), solver.solve(matrix, b), "ConjugateGradient::solve produced wrong result.\n");
+        assertEquals(solver.getIterationCount(), residuals.size());
+        assertTrue(solver.getResidualNorm() <= solver.getTolerance() * Math.sqrt(b.dotProduct(b)));
+    }
+
+    @Test
+    @DisplayName("ConjugateGradient::solve Jacobi preconditioner test")
+    public void testSolveJacobi() {
+        ConjugateGradient solver = new ConjugateGradient();
+        solver.setPreconditioner(new JacobiPreconditioner(matrix));
+
+        assertEquals(expectedSolution(), solver.solve(matrix, b), "ConjugateGradient::solve produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("ConjugateGradient::solve incomplete Cholesky preconditioner test")
+    public void testSolveIncompleteCholesky() {
+        ConjugateGradient solver = new ConjugateGradient();
+        solver.setPreconditioner(new IncompleteCholeskyPreconditioner(matrix));
+
+        assertEquals(expectedSolution(), solver.solve(matrix, b), "ConjugateGradient::solve produced wrong result.\n");
+        assertEquals(1, solver.getIterationCount(), "IC(0) of a tridiagonal matrix is its exact Cholesky factor.\n");
+    }
+
+    @Test
+    @DisplayName("ConjugateGradient::solve exception test")
+    public void testSolveException() {
+        ConjugateGradient solver = new ConjugateGradient();
+        solver.setMaxIterations(2);
+
+        Exception exception = assertThrows(MatrixOperationException.class, () ->
+                solver.solve(matrix, b));
+        assertEquals("Conjugate gradient did not converge within the iteration limit.", exception.getMessage());
+    }
+}
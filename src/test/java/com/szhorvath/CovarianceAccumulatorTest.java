@@ -0,0 +1,131 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class CovarianceAccumulatorTest {
+    private static final int ROW_COUNT = 300;
+    private static final int DIMENSION = 6;
+
+    private double[][] rows;
+    private double[][] expectedCovariance;
+
+    @BeforeEach
+    public void testSetup() {
+        Random random = new Random(5);
+        rows = new double[ROW_COUNT][DIMENSION];
+        for (double[] row : rows) {
+            for (int j = 0; j < DIMENSION; ++j) {
+                // A large offset, which the raw sum of products would cancel catastrophically.
+                row[j] = 1e8 + j + random.nextGaussian() * (j + 1);
+            }
+        }
+        double[] mean = new double[DIMENSION];
+        for (double[] row : rows) {
+            for (int j = 0; j < DIMENSION; ++j) {
+                mean[j] += row[j] / ROW_COUNT;
+            }
+        }
+        expectedCovariance = new double[DIMENSION][DIMENSION];
+        for (double[] row : rows) {
+            for (int i = 0; i < DIMENSION; ++i) {
+                for (int j = 0; j < DIMENSION; ++j) {
+                    expectedCovariance[i][j] += (row[i] - mean[i]) * (row[j] - mean[j]) / (ROW_COUNT - 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("CovarianceAccumulator::add test")
+    public void testAdd() {
+        CovarianceAccumulator accumulator = new CovarianceAccumulator(DIMENSION);
+        for (double[] row : rows) {
+            accumulator.add(Vector.fromArray(row));
+        }
+
+        assertEquals(ROW_COUNT, accumulator.getCount());
+        assertClose(expectedCovariance, accumulator.getCovariance(), "CovarianceAccumulator::add");
+    }
+
+    @Test
+    @DisplayName("CovarianceAccumulator::add batch test")
+    public void testAddBatch() {
+        CovarianceAccumulator accumulator = new CovarianceAccumulator(DIMENSION);
+        accumulator.add(Matrix.fromArray(Arrays.copyOfRange(rows, 0, 1)));
+        accumulator.add(Matrix.fromArray(Arrays.copyOfRange(rows, 1, 120)));
+        accumulator.add(Matrix.fromArray(Arrays.copyOfRange(rows, 120, ROW_COUNT)));
+
+        assertEquals(ROW_COUNT, accumulator.getCount());
+        assertClose(expectedCovariance, accumulator.getCovariance(), "CovarianceAccumulator::add");
+    }
+
+    @Test
+    @DisplayName("CovarianceAccumulator::merge test")
+    public void testMerge() {
+        int shardCount = 7;
+        CovarianceAccumulator[] shards = IntStream.range(0, shardCount).parallel().mapToObj(shard -> {
+            CovarianceAccumulator accumulator = new CovarianceAccumulator(DIMENSION);
+            for (int i = shard; i < ROW_COUNT; i += shardCount) {
+                accumulator.add(Vector.fromArray(rows[i]));
+            }
+            return accumulator;
+        }).toArray(CovarianceAccumulator[]::new);
+        CovarianceAccumulator merged = new CovarianceAccumulator(DIMENSION);
+        for (CovarianceAccumulator shard : shards) {
+            merged.merge(shard);
+        }
+
+        assertEquals(ROW_COUNT, merged.getCount());
+        assertClose(expectedCovariance, merged.getCovariance(), "CovarianceAccumulator::merge");
+    }
+
+    @Test
+    @DisplayName("CovarianceAccumulator::getMean and CovarianceAccumulator::getGram test")
+    public void testMeanGram() {
+        Matrix m = Matrix.fromArray(new double[][] {{1.0, 2.0}, {3.0, -1.0}, {0.0, 4.0}});
+        CovarianceAccumulator accumulator = new CovarianceAccumulator(2);
+        accumulator.add(m);
+
+        assertEquals(Vector.fromArray(new double[] {4.0 / 3.0, 5.0 / 3.0}), accumulator.getMean(),
+                "CovarianceAccumulator::getMean produced wrong result.\n");
+        assertEquals(m.transposeMultiplySelf(), accumulator.getGram(),
+                "CovarianceAccumulator::getGram produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("CovarianceAccumulator exception test")
+    public void testCovarianceAccumulatorException() {
+        CovarianceAccumulator accumulator = new CovarianceAccumulator(3);
+
+        Exception exception = assertThrows(VectorSizeMismatchException.class, () ->
+                accumulator.add(Vector.fromArray(new double[] {1.0, 2.0})));
+        assertEquals("Accumulation of different sized row.", exception.getMessage());
+        exception = assertThrows(VectorSizeMismatchException.class, () ->
+                accumulator.merge(new CovarianceAccumulator(2)));
+        assertEquals("Merge of different sized covariance accumulators.", exception.getMessage());
+        accumulator.add(Vector.fromArray(new double[] {1.0, 2.0, 3.0}));
+        exception = assertThrows(MatrixOperationException.class, accumulator::getCovariance);
+        assertEquals("Covariance of fewer than two rows.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> new CovarianceAccumulator(0));
+        assertEquals("Covariance of non-positive dimension.", exception.getMessage());
+    }
+
+    private static void assertClose(double[][] expected, Matrix actual, String method) {
+        double[][] result = actual.toArray();
+        for (int i = 0; i < DIMENSION; ++i) {
+            for (int j = 0; j < DIMENSION; ++j) {
+                assertEquals(expected[i][j], result[i][j], 1e-6 * (i + 1) * (j + 1),
+                        method + " produced wrong result.\n");
+            }
+        }
+    }
+}
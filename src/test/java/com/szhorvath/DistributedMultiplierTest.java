@@ -0,0 +1,100 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class DistributedMultiplierTest {
+    private Matrix left;
+    private Matrix right;
+
+    @BeforeEach
+    public void testSetup() {
+        Random random = new Random(42);
+        double[][] a = new double[70][45];
+        double[][] b = new double[45][50];
+        for (double[] row : a) {
+            for (int j = 0; j < row.length; ++j) {
+                row[j] = random.nextInt(21) - 10;
+            }
+        }
+        for (double[] row : b) {
+            for (int j = 0; j < row.length; ++j) {
+                row[j] = random.nextInt(21) - 10;
+            }
+        }
+        left = Matrix.fromArray(a);
+        right = Matrix.fromArray(b);
+    }
+
+    @Test
+    @DisplayName("DistributedMultiplier::multiply exception test")
+    public void testMultiplyException() {
+        DistributedMultiplier multiplier = new DistributedMultiplier(new ArrayList<>());
+
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                multiplier.multiply(left, left));
+        assertEquals("Multiplication of matrices where the first matrix's column count isn't equal to the second's row "
+                + "count.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () ->
+                new DistributedMultiplier(new ArrayList<>(), 0));
+        assertEquals("Distributed multiplication with non-positive block size.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () ->
+                new DistributedMultiplier(new ArrayList<>(), -4));
+        assertEquals("Distributed multiplication with non-positive block size.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("DistributedMultiplier::multiply worker crash test")
+    public void testMultiplyWorkerCrash() throws Exception {
+        try (MultiplicationWorker first = new MultiplicationWorker();
+             MultiplicationWorker second = new MultiplicationWorker()) {
+            List<InetSocketAddress> workers = new ArrayList<>();
+            workers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), first.getPort()));
+            workers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), second.getPort()));
+            DistributedMultiplier multiplier = new DistributedMultiplier(workers, 4);
+
+            CompletableFuture<Matrix> product = CompletableFuture.supplyAsync(() -> multiplier.multiply(left, right));
+            first.close();
+
+            assertEquals(left.multiplyMatrix(right), product.get(30, TimeUnit.SECONDS),
+                    "DistributedMultiplier::multiply produced wrong result.\n");
+        }
+    }
+
+    @Test
+    @DisplayName("DistributedMultiplier::multiply all workers down test")
+    public void testMultiplyAllWorkersDown() throws Exception {
+        MultiplicationWorker worker = new MultiplicationWorker();
+        List<InetSocketAddress> workers = new ArrayList<>();
+        workers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), worker.getPort()));
+        worker.close();
+        DistributedMultiplier multiplier = new DistributedMultiplier(workers, 16);
+
+        assertEquals(left.multiplyMatrix(right), multiplier.multiply(left, right),
+                "DistributedMultiplier::multiply produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("DistributedMultiplier::multiply worker processes test")
+    public void testMultiplyWorkerProcesses() throws Exception {
+        try (WorkerLauncher launcher = new WorkerLauncher(2, "-Xmx64m")) {
+            launcher.kill(1);
+            DistributedMultiplier multiplier = new DistributedMultiplier(launcher.getAddresses(), 16);
+
+            assertEquals(left.multiplyMatrix(right), multiplier.multiply(left, right),
+                    "DistributedMultiplier::multiply produced wrong result.\n");
+        }
+    }
+}
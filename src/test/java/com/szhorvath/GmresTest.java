@@ -0,0 +1,92 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GmresTest {
+    private LinearOperator operator;
+    private Vector b;
+
+    /**
+     * Sets up a matrix-free, non-symmetric convection-diffusion operator tridiag(-1.5, 4, -0.5), and a right-hand side
+     * with a known solution.
+     */
+    @BeforeEach
+    public void testSetup() {
+        int n = 60;
+        operator = new LinearOperator() {
+            @Override
+            public int getRowCount() {
+                return n;
+            }
+
+            @Override
+            public int getColumnCount() {
+                return n;
+            }
+
+            @Override
+            public void apply(double[] x, double[] y) {
+                for (int i = 0; i < n; ++i) {
+                    y[i] = 4.0 * x[i] - (i > 0 ? 1.5 * x[i - 1] : 0.0) - (i + 1 < n ? 0.5 * x[i + 1] : 0.0);
+                }
+            }
+        };
+        double[] solution = new double[n];
+        for (int i = 0; i < n; ++i) {
+            solution[i] = Math.cos(i);
+        }
+        double[] rhs = new double[n];
+        operator.apply(solution, rhs);
+        b = Vector.fromArray(rhs);
+    }
+
+    private Vector expectedSolution() {
+        Vector result = new Vector();
+        for (int i = 0; i < b.getSize(); ++i) {
+            result.add(Math.cos(i));
+        }
+
+        return result;
+    }
+
+    @Test
+    @DisplayName("Gmres::solve restarted test")
+    public void testSolveRestarted() {
+        Gmres solver = new Gmres(5);
+
+        assertEquals(expectedSolution(), solver.solve(operator, b), "Gmres::solve produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Gmres::solve Jacobi preconditioner test")
+    public void testSolveJacobi() {
+        Gmres solver = new Gmres();
+        Vector diagonal = new Vector();
+        for (int i = 0; i < b.getSize(); ++i) {
+            diagonal.add(4.0);
+        }
+        solver.setPreconditioner(new JacobiPreconditioner(diagonal));
+
+        assertEquals(expectedSolution(), solver.solve(operator, b), "Gmres::solve produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Gmres::solve exception test")
+    public void testSolveException() {
+        Gmres solver = new Gmres(2);
+        solver.setMaxIterations(3);
+
+        Exception exception = assertThrows(MatrixOperationException.class, () ->
+                solver.solve(operator, b));
+        assertEquals("GMRES did not converge within the iteration limit.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> new Gmres(0));
+        assertEquals("GMRES with non-positive restart length.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> new Gmres(-1));
+        assertEquals("GMRES with non-positive restart length.", exception.getMessage());
+    }
+}
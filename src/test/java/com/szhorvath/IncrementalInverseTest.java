@@ -0,0 +1,120 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class IncrementalInverseTest {
+    private Matrix matrix;
+
+    @BeforeEach
+    public void testSetup() {
+        Vector v = new Vector();
+        v.add(12.0);
+        v.add(24.0);
+        v.add(12.0);
+        matrix = new Matrix();
+        matrix.add(v);
+        v = new Vector();
+        v.add(0.0);
+        v.add(6.0);
+        v.add(3.0);
+        matrix.add(v);
+        v = new Vector();
+        v.add(7.0);
+        v.add(0.0);
+        v.add(14.0);
+        matrix.add(v);
+    }
+
+    @Test
+    @DisplayName("IncrementalInverse::update rank-1 test")
+    public void testUpdateRankOne() {
+        IncrementalInverse incrementalInverse = new IncrementalInverse(matrix);
+        Vector u = new Vector();
+        u.add(1.0);
+        u.add(-2.0);
+        u.add(0.5);
+        Vector v = new Vector();
+        v.add(0.0);
+        v.add(3.0);
+        v.add(1.0);
+        incrementalInverse.update(u, v);
+
+        Matrix uColumn = new Matrix();
+        for (Double value : u.getValues()) {
+            Vector row = new Vector();
+            row.add(value);
+            uColumn.add(row);
+        }
+        Matrix vRow = new Matrix();
+        vRow.add(v);
+        Matrix updated = matrix.addMatrix(uColumn.multiplyMatrix(vRow));
+
+        assertEquals(updated, incrementalInverse.getMatrix(), "IncrementalInverse::update produced wrong matrix.\n");
+        assertEquals(updated.inverse(), incrementalInverse.getInverse(),
+                "IncrementalInverse::update produced wrong inverse.\n");
+        assertEquals(0, incrementalInverse.getReinversionCount());
+    }
+
+    @Test
+    @DisplayName("IncrementalInverse::woodbury rank-2 test")
+    public void testWoodburyRankTwo() {
+        Matrix u = new Matrix();
+        Vector v = new Vector();
+        v.add(1.0);
+        v.add(0.0);
+        u.add(v);
+        v = new Vector();
+        v.add(2.0);
+        v.add(1.0);
+        u.add(v);
+        v = new Vector();
+        v.add(0.0);
+        v.add(-1.0);
+        u.add(v);
+        Matrix updated = matrix.addMatrix(u.multiplyMatrix(u.transpose()));
+
+        assertEquals(updated.inverse(), IncrementalInverse.woodbury(matrix.inverse(), u, u),
+                "IncrementalInverse::woodbury produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("IncrementalInverse::update drift test")
+    public void testUpdateDrift() {
+        IncrementalInverse incrementalInverse = new IncrementalInverse(matrix);
+        incrementalInverse.setDriftTolerance(-1.0);  // Forces a full re-inversion.
+        Vector u = new Vector();
+        u.add(0.0);
+        u.add(1.0);
+        u.add(0.0);
+        incrementalInverse.update(u, u);
+
+        assertEquals(1, incrementalInverse.getReinversionCount());
+        assertEquals(incrementalInverse.getMatrix().inverse(), incrementalInverse.getInverse(),
+                "IncrementalInverse::update produced wrong inverse.\n");
+    }
+
+    @Test
+    @DisplayName("IncrementalInverse::update exception test")
+    public void testUpdateException() {
+        IncrementalInverse incrementalInverse = new IncrementalInverse(matrix);
+        Vector u = new Vector();
+        u.add(0.0);
+        u.add(0.0);
+        u.add(1.0);
+        Vector v = new Vector();
+        v.add(-7.0);
+        v.add(0.0);
+        v.add(-14.0);
+
+        Exception exception = assertThrows(MatrixOperationException.class, () ->
+                incrementalInverse.update(u, v));
+        assertEquals("Incremental inverse update producing a singular matrix.", exception.getMessage());
+        assertEquals(matrix, incrementalInverse.getMatrix(), "IncrementalInverse::update should leave the matrix "
+                + "untouched.\n");
+    }
+}
@@ -0,0 +1,9 @@
+package com.szhorvath;
+
+public class JavaComputeBackendTest extends ComputeBackendConformanceTest {
+
+    @Override
+    protected ComputeBackend createBackend() {
+        return new JavaComputeBackend();
+    }
+}
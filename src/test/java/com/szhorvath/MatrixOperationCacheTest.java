@@ -0,0 +1,116 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MatrixOperationCacheTest {
+    private Matrix matrix;
+
+    @BeforeEach
+    public void testSetup() {
+        Vector v = new Vector();
+        v.add(12.0);
+        v.add(24.0);
+        v.add(12.0);
+        matrix = new Matrix();
+        matrix.add(v);
+        v = new Vector();
+        v.add(0.0);
+        v.add(6.0);
+        v.add(3.0);
+        matrix.add(v);
+        v = new Vector();
+        v.add(7.0);
+        v.add(0.0);
+        v.add(14.0);
+        matrix.add(v);
+    }
+
+    @Test
+    @DisplayName("MatrixOperationCache hit and miss test")
+    public void testHitAndMiss() {
+        MatrixOperationCache cache = new MatrixOperationCache(1 << 20);
+
+        assertEquals(matrix.inverse(), cache.inverse(matrix), "MatrixOperationCache::inverse produced wrong result.\n");
+        assertEquals(matrix.inverse(), cache.inverse(matrix.transpose().transpose()),
+                "MatrixOperationCache::inverse produced wrong result.\n");
+        assertEquals(matrix.determinant(), cache.determinant(matrix), 0.00001,
+                "MatrixOperationCache::determinant produced wrong result.\n");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertTrue(cache.getSizeInBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("MatrixOperationCache copy test")
+    public void testCopy() {
+        MatrixOperationCache cache = new MatrixOperationCache(1 << 20);
+        Matrix first = cache.inverse(matrix);
+        first.removeIndex(0);
+
+        assertEquals(matrix.inverse(), cache.inverse(matrix), "MatrixOperationCache::inverse should return a copy.\n");
+        matrix.removeIndex(2);
+        Vector v = new Vector();
+        v.add(1.0);
+        v.add(0.0);
+        v.add(1.0);
+        matrix.add(v);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(matrix.inverse(), cache.inverse(matrix), "MatrixOperationCache::inverse should notice the "
+                + "operand has changed.\n");
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("MatrixOperationCache eviction test")
+    public void testEviction() {
+        MatrixOperationCache cache = new MatrixOperationCache(16 * 400);  // Room for about 30 small results.
+        for (int i = 0; i < 200; ++i) {
+            cache.computeIfAbsent("scalarProduct", matrix.scalarProduct(i), m -> m.scalarProduct(2.0));
+        }
+
+        assertTrue(cache.getEvictionCount() > 0);
+        assertTrue(cache.getSizeInBytes() <= 16 * 400);
+        cache.clear();
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    @DisplayName("MatrixOperationCache global budget test")
+    public void testGlobalBudget() {
+        double[][] values = new double[20][20];
+        for (int i = 0; i < 20; ++i) {
+            values[i][i] = 2.0;
+        }
+        Matrix large = Matrix.fromArray(values);
+        MatrixOperationCache cache = new MatrixOperationCache(4000);  // The result takes up more than 1/16 of it.
+        cache.inverse(large);
+        cache.inverse(large);
+
+        assertEquals(1, cache.getHitCount(), "MatrixOperationCache should cache results up to its whole budget.\n");
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("MatrixOperationCache global eviction order test")
+    public void testGlobalEvictionOrder() {
+        MatrixOperationCache cache = new MatrixOperationCache(500);  // Room for two 3x3 results.
+        Matrix first = matrix.scalarProduct(1.0);
+        Matrix second = matrix.scalarProduct(2.0);
+        Matrix third = matrix.scalarProduct(3.0);
+        cache.inverse(first);
+        cache.inverse(second);
+        cache.inverse(first);
+        cache.inverse(third);
+
+        assertEquals(1, cache.getEvictionCount());
+        cache.inverse(first);
+        assertEquals(2, cache.getHitCount(), "MatrixOperationCache should keep the recently used result.\n");
+        cache.inverse(second);
+        assertEquals(4, cache.getMissCount(), "MatrixOperationCache should evict the least recently used result.\n");
+    }
+}
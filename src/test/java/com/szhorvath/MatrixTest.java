@@ -2,6 +2,7 @@ package com.szhorvath;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -159,6 +160,40 @@ public class MatrixTest {
         assertEquals(result, matrix.multiplyMatrix(m), "Matrix::addMatrix produced wrong result.\n");
     }
 
+    @Test
+    @DisplayName("Matrix::multiplyMatrix parallel test")
+    public void testMultiplyMatrixParallel() {
+        double[][] a = new double[37][23];
+        double[][] b = new double[23][29];
+        for (int i = 0; i < 37; ++i) {
+            for (int j = 0; j < 23; ++j) {
+                a[i][j] = (i * 7 + j * 3) % 11 - 5.5;
+            }
+        }
+        for (int i = 0; i < 23; ++i) {
+            for (int j = 0; j < 29; ++j) {
+                b[i][j] = (i * 5 + j) % 13 * 0.25;
+            }
+        }
+        double[][] expected = new double[37][29];
+        for (int i = 0; i < 37; ++i) {
+            for (int j = 0; j < 29; ++j) {
+                for (int k = 0; k < 23; ++k) {
+                    expected[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        KernelParameters previous = KernelParameters.current();
+        try {
+            KernelParameters.setCurrent(new KernelParameters(8, 0, 32));
+
+            assertEquals(Matrix.fromArray(expected), Matrix.fromArray(a).multiplyMatrix(Matrix.fromArray(b)),
+                    "Matrix::multiplyMatrix produced wrong result.\n");
+        } finally {
+            KernelParameters.setCurrent(previous);
+        }
+    }
+
     @RepeatedTest(10)
     @DisplayName("Matrix::scalarProduct repeated test")
     public void testScalarProductRepeated() {
@@ -245,6 +280,19 @@ public class MatrixTest {
 
         Exception exception = assertThrows(MatrixOperationException.class, m::inverse);
         assertEquals("Inverse of zero determinant matrix.", exception.getMessage());
+        exception = assertThrows(MatrixSizeMismatchException.class, () -> new Matrix().inverse());
+        assertEquals("Inverse of non-square or empty matrix.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Matrix::inverse underflowing determinant test")
+    public void testInverseUnderflowingDeterminant() {
+        int n = 400;
+        Matrix m = Matrix.fromArray(DenseKernels.identity(n)).scalarProduct(0.1);
+
+        assertEquals(0.0, m.determinant(), "The determinant of 0.1 * I should underflow.\n");
+        assertEquals(Matrix.fromArray(DenseKernels.identity(n)).scalarProduct(10.0), m.inverse(),
+                "Matrix::inverse produced wrong result.\n");
     }
 
     @RepeatedTest(10)
@@ -326,4 +374,249 @@ public class MatrixTest {
 
         assertEquals(result, m.choleskyDecomposition(), "Matrix::choleskyDecomposition produced wrong result.\n");
     }
+
+    @Test
+    @DisplayName("Matrix::power exception test")
+    public void testPowerException() {
+        Vector v = new Vector();
+        v.add(1.0);
+        v.add(2.0);
+        Matrix m = new Matrix();
+        m.add(v);
+
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                m.power(2));
+        assertEquals("Power of non-square or empty matrix.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Matrix::power test")
+    public void testPower() {
+        Vector v = new Vector();
+        v.add(1.0);
+        v.add(1.0);
+        Matrix m = new Matrix();
+        m.add(v);
+        v = new Vector();
+        v.add(1.0);
+        v.add(0.0);
+        m.add(v);
+        v = new Vector();
+        v.add(10946.0);  // Fibonacci numbers F(21) and F(20).
+        v.add(6765.0);
+        Matrix result = new Matrix();
+        result.add(v);
+        v = new Vector();
+        v.add(6765.0);
+        v.add(4181.0);
+        result.add(v);
+
+        assertEquals(result, m.power(20), "Matrix::power produced wrong result.\n");
+        assertEquals(m.multiplyMatrix(m).multiplyMatrix(m), m.power(3), "Matrix::power produced wrong result.\n");
+        assertEquals(m.multiplyMatrix(m.inverse()), m.power(0), "Matrix::power produced wrong result.\n");
+        assertEquals(m.inverse().multiplyMatrix(m.inverse()), m.power(-2), "Matrix::power produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Matrix::multiplyChain exception test")
+    public void testMultiplyChainException() {
+        Vector v = new Vector();
+        v.add(1.0);
+        v.add(2.0);
+        Matrix m = new Matrix();
+        m.add(v);
+
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                Matrix.multiplyChain(matrix, m));
+        assertEquals("Multiplication of a chain of matrices where a matrix's column count isn't equal to the next one's"
+                + " row count.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Matrix::multiplyChain test")
+    public void testMultiplyChain() {
+        Vector v = new Vector();
+        v.add(0.5);
+        v.add(-1.0);
+        v.add(2.0);
+        v.add(0.0);
+        Matrix row = new Matrix();
+        row.add(v);
+        Matrix column = row.transpose();
+
+        assertEquals(column.multiplyMatrix(row).multiplyMatrix(matrix).multiplyMatrix(column),
+                Matrix.multiplyChain(column, row, matrix, column), "Matrix::multiplyChain produced wrong result.\n");
+        assertEquals(matrix, Matrix.multiplyChain(matrix), "Matrix::multiplyChain produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Matrix::fingerprint test")
+    public void testFingerprint() {
+        Matrix copy = matrix.transpose().transpose();
+
+        assertEquals(matrix.fingerprint(), copy.fingerprint(),
+                "Matrix::fingerprint should match for equal contents.\n");
+        assertEquals(matrix.hashCode(), copy.hashCode(), "Matrix::hashCode should match for equal matrices.\n");
+        assertNotEquals(matrix.fingerprint(), matrix.transpose().fingerprint(),
+                "Matrix::fingerprint should differ for different contents.\n");
+        assertNotEquals(matrix.fingerprint(), matrix.scalarProduct(1.0 + 1e-15).fingerprint(),
+                "Matrix::fingerprint should differ for different contents.\n");
+    }
+
+    @Test
+    @DisplayName("Matrix::map test")
+    public void testMap() {
+        double[][] values = matrix.toArray();
+        for (double[] row : values) {
+            for (int j = 0; j < row.length; ++j) {
+                double value = row[j];
+                row[j] = 2.0 * value + 1.0;
+            }
+        }
+        Matrix result = Matrix.fromArray(values);
+
+        assertEquals(result, matrix.map(x -> 2.0 * x + 1.0), "Matrix::map produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Matrix::zip exception test")
+    public void testZipException() {
+        Matrix m = new Matrix();
+        Vector v = new Vector();
+        v.add(1.0);
+        m.add(v);
+
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                matrix.zip(m, Math::max));
+        assertEquals("Element-wise operation on different sized matrices.", exception.getMessage());
+        exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                matrix.hadamardProduct(m));
+        assertEquals("Hadamard product of different sized matrices.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Matrix::hadamardProduct test")
+    public void testHadamardProduct() {
+        double[][] values = matrix.toArray();
+        for (double[] row : values) {
+            for (int j = 0; j < row.length; ++j) {
+                double value = row[j];
+                row[j] = value * value;
+            }
+        }
+        Matrix result = Matrix.fromArray(values);
+
+        assertEquals(result, matrix.hadamardProduct(matrix), "Matrix::hadamardProduct produced wrong result.\n");
+        assertEquals(matrix.map(Math::abs), matrix.zip(matrix.scalarProduct(-1.0), Math::max),
+                "Matrix::zip produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Matrix reductions test")
+    public void testReductions() {
+        assertEquals(-232524.2, matrix.sum(), 0.00001, "Matrix::sum produced wrong result.\n");
+        assertEquals(-324748.0, matrix.min(), 0.00001, "Matrix::min produced wrong result.\n");
+        assertEquals(84566.1, matrix.max(), 0.00001, "Matrix::max produced wrong result.\n");
+        assertEquals(324818.0, matrix.normOne(), 0.00001, "Matrix::normOne produced wrong result.\n");
+        assertEquals(325317.4, matrix.normInfinity(), 0.00001, "Matrix::normInfinity produced wrong result.\n");
+        assertEquals(Math.sqrt(matrix.hadamardProduct(matrix).sum()), matrix.frobeniusNorm(), 0.00001,
+                "Matrix::frobeniusNorm produced wrong result.\n");
+        Vector rowSums = new Vector();
+        rowSums.add(84632.6);
+        rowSums.add(-773.9);
+        rowSums.add(-324178.6);
+        rowSums.add(7795.7);
+        assertEquals(rowSums, matrix.rowSums(), "Matrix::rowSums produced wrong result.\n");
+        Vector columnSums = new Vector();
+        columnSums.add(-282.6);
+        columnSums.add(-324678.0);
+        columnSums.add(7930.6);
+        columnSums.add(84505.8);
+        assertEquals(columnSums, matrix.columnSums(), "Matrix::columnSums produced wrong result.\n");
+
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                new Matrix().min());
+        assertEquals("Minimum of empty matrix.", exception.getMessage());
+        assertEquals(0.0, new Matrix().sum(), "Matrix::sum produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Matrix reductions parallel test")
+    public void testReductionsParallel() {
+        double[][] values = new double[301][157];
+        for (int i = 0; i < values.length; ++i) {
+            for (int j = 0; j < values[i].length; ++j) {
+                values[i][j] = Math.sin(i * 157 + j) * Math.pow(10.0, (i + j) % 9 - 4);
+            }
+        }
+        Matrix m = Matrix.fromArray(values);
+        KernelParameters previous = KernelParameters.current();
+        try {
+            KernelParameters.setCurrent(new KernelParameters(64, Long.MAX_VALUE, 32));
+            double sum = m.sum();
+            double norm = m.frobeniusNorm();
+            Vector columnSums = m.columnSums();
+            Matrix squares = m.map(x -> x * x);
+            KernelParameters.setCurrent(new KernelParameters(64, 0, 32));
+
+            assertEquals(sum, m.sum(), 0.0, "Matrix::sum should not depend on parallelism.\n");
+            assertEquals(norm, m.frobeniusNorm(), 0.0, "Matrix::frobeniusNorm should not depend on parallelism.\n");
+            assertEquals(columnSums.getValues(), m.columnSums().getValues(),
+                    "Matrix::columnSums should not depend on parallelism.\n");
+            assertEquals(squares, m.hadamardProduct(m), "Matrix::map produced wrong result.\n");
+        } finally {
+            KernelParameters.setCurrent(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Matrix::transposeMultiplySelf test")
+    public void testTransposeMultiplySelf() {
+        assertEquals(matrix.transpose().multiplyMatrix(matrix), matrix.transposeMultiplySelf(),
+                "Matrix::transposeMultiplySelf produced wrong result.\n");
+        assertEquals(matrix.multiplyMatrix(matrix.transpose()), matrix.multiplySelfTranspose(),
+                "Matrix::multiplySelfTranspose produced wrong result.\n");
+
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                new Matrix().transposeMultiplySelf());
+        assertEquals("Symmetric rank-k product of empty matrix.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Matrix::transposeMultiplySelfPacked parallel test")
+    public void testTransposeMultiplySelfParallel() {
+        double[][] values = new double[150][61];
+        for (int i = 0; i < values.length; ++i) {
+            for (int j = 0; j < values[i].length; ++j) {
+                values[i][j] = Math.cos(i * 61 + j) * (1 + (i + j) % 5);
+            }
+        }
+        Matrix m = Matrix.fromArray(values);
+        KernelParameters previous = KernelParameters.current();
+        try {
+            KernelParameters.setCurrent(new KernelParameters(64, Long.MAX_VALUE, 32));
+            PackedSymmetricMatrix gram = m.transposeMultiplySelfPacked();
+            PackedSymmetricMatrix outer = m.multiplySelfTransposePacked();
+            double[][] expected = m.transpose().multiplyMatrix(m).toArray();
+            KernelParameters.setCurrent(new KernelParameters(64, 0, 32));
+
+            assertEquals(gram, m.transposeMultiplySelfPacked(), "Matrix::transposeMultiplySelfPacked should not "
+                    + "depend on parallelism.\n");
+            assertEquals(outer, m.multiplySelfTransposePacked(), "Matrix::multiplySelfTransposePacked should not "
+                    + "depend on parallelism.\n");
+            KernelParameters.setCurrent(new KernelParameters(7, 0, 32));
+            assertEquals(gram, m.transposeMultiplySelfPacked(), "Matrix::transposeMultiplySelfPacked should not "
+                    + "depend on the tiling.\n");
+            assertEquals(61, gram.getSize());
+            assertEquals(150, outer.getSize());
+            for (int i = 0; i < 61; ++i) {
+                for (int j = 0; j < 61; ++j) {
+                    assertEquals(expected[i][j], gram.get(i, j), 0.0,
+                            "Matrix::transposeMultiplySelfPacked produced wrong result.\n");
+                }
+            }
+        } finally {
+            KernelParameters.setCurrent(previous);
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class MixedPrecisionSolverTest {
+
+    private static double maxError(Vector x, double[] expected) {
+        double result = 0.0;
+        for (int i = 0; i < expected.length; ++i) {
+            result = Math.max(result, Math.abs(x.getValues().get(i) - expected[i]));
+        }
+
+        return result;
+    }
+
+    private static Vector rhs(double[][] a, double[] x) {
+        double[] b = new double[a.length];
+        Matrix.fromArray(a).apply(x, b);
+
+        return Vector.fromArray(b);
+    }
+
+    @Test
+    @DisplayName("MixedPrecisionSolver::solve LU test")
+    public void testSolveLu() {
+        Random random = new Random(7);
+        int n = 60;
+        double[][] a = new double[n][n];
+        double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                a[i][j] = random.nextDouble() - 0.5;
+            }
+            a[i][i] += 4.0;
+            x[i] = random.nextDouble() * 100.0;
+        }
+        MixedPrecisionSolver solver = new MixedPrecisionSolver(Matrix.fromArray(a));
+        Vector solution = solver.solve(rhs(a, x));
+
+        assertFalse(solver.isCholesky());
+        assertFalse(solver.isDoubleFallback());
+        assertTrue(solver.getIterationCount() > 0);
+        assertTrue(maxError(solution, x) < 1e-11, "MixedPrecisionSolver::solve should reach double precision.\n");
+    }
+
+    @Test
+    @DisplayName("MixedPrecisionSolver::solve Cholesky test")
+    public void testSolveCholesky() {
+        int n = 40;
+        double[][] a = new double[n][n];
+        double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            a[i][i] = 2.5;
+            if (i > 0) {
+                a[i][i - 1] = -1.0;
+                a[i - 1][i] = -1.0;
+            }
+            x[i] = Math.sin(i) / 3.0;
+        }
+        MixedPrecisionSolver solver = new MixedPrecisionSolver(Matrix.fromArray(a));
+        Vector solution = solver.solve(rhs(a, x));
+
+        assertTrue(solver.isCholesky());
+        assertFalse(solver.isDoubleFallback());
+        assertTrue(maxError(solution, x) < 1e-13, "MixedPrecisionSolver::solve should reach double precision.\n");
+    }
+
+    @Test
+    @DisplayName("MixedPrecisionSolver::solve double fallback test")
+    public void testSolveDoubleFallback() {
+        int n = 9;
+        double[][] a = new double[n][n];  // Hilbert matrix, condition number ~5e11: too ill-conditioned for floats.
+        double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                a[i][j] = 1.0 / (i + j + 1);
+            }
+            x[i] = 1.0;
+        }
+        MixedPrecisionSolver solver = new MixedPrecisionSolver(Matrix.fromArray(a));
+        Vector solution = solver.solve(rhs(a, x));
+
+        assertTrue(solver.isDoubleFallback());
+        assertTrue(maxError(solution, x) < 1e-3, "MixedPrecisionSolver::solve produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("MixedPrecisionSolver exception test")
+    public void testMixedPrecisionSolverException() {
+        double[][] a = {{1.0, 2.0}, {2.0, 4.0}};
+
+        Exception exception = assertThrows(MatrixOperationException.class, () ->
+                new MixedPrecisionSolver(Matrix.fromArray(a)));
+        assertEquals("LU decomposition of singular matrix.", exception.getMessage());
+    }
+}
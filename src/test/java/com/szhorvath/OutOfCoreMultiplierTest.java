@@ -0,0 +1,96 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class OutOfCoreMultiplierTest {
+    private Matrix left;
+    private Matrix right;
+
+    @BeforeEach
+    public void testSetup() {
+        Random random = new Random(3);
+        double[][] a = new double[53][41];
+        double[][] b = new double[41][29];
+        for (double[] row : a) {
+            for (int j = 0; j < row.length; ++j) {
+                row[j] = random.nextDouble() - 0.5;
+            }
+        }
+        for (double[] row : b) {
+            for (int j = 0; j < row.length; ++j) {
+                row[j] = random.nextDouble() - 0.5;
+            }
+        }
+        left = Matrix.fromArray(a);
+        right = Matrix.fromArray(b);
+    }
+
+    @Test
+    @DisplayName("MatrixFile round trip test")
+    public void testMatrixFile(@TempDir Path directory) throws IOException {
+        try (MatrixFile file = MatrixFile.write(directory.resolve("a.matrix"), left)) {
+            assertEquals(53, file.getRowCount());
+            assertEquals(41, file.getColumnCount());
+            assertEquals(left, file.read(), "MatrixFile::read produced wrong result.\n");
+            double[][] tile = file.readTile(10, 5, 3, 4);
+            assertEquals(left.toArray()[11][7], tile[1][2], 0.0, "MatrixFile::readTile produced wrong result.\n");
+        }
+        try (MatrixFile file = MatrixFile.open(directory.resolve("a.matrix"))) {
+            assertEquals(left, file.read(), "MatrixFile::open produced wrong result.\n");
+        }
+
+        Path garbage = directory.resolve("garbage.matrix");
+        Files.write(garbage, new byte[64]);
+        assertThrows(IOException.class, () -> MatrixFile.open(garbage));
+    }
+
+    @Test
+    @DisplayName("OutOfCoreMultiplier::multiply test")
+    public void testMultiply(@TempDir Path directory) throws IOException {
+        OutOfCoreMultiplier multiplier = new OutOfCoreMultiplier(5L * 8 * 12 * 12);
+        try (MatrixFile a = MatrixFile.write(directory.resolve("a.matrix"), left);
+             MatrixFile b = MatrixFile.write(directory.resolve("b.matrix"), right);
+             MatrixFile c = multiplier.multiply(a, b, directory.resolve("c.matrix"))) {
+            double[][] expected = left.multiplyMatrix(right).toArray();
+            double[][] actual = c.read().toArray();
+
+            assertEquals(12, multiplier.getTileSize());
+            for (int i = 0; i < expected.length; ++i) {
+                for (int j = 0; j < expected[i].length; ++j) {
+                    assertEquals(expected[i][j], actual[i][j], 0.0,
+                            "OutOfCoreMultiplier::multiply produced wrong result.\n");
+                }
+            }
+            assertEquals(8L * 53 * 29, multiplier.getBytesWritten());
+            assertEquals(8L * (53 * 41 * 3 + 41 * 29 * 5), multiplier.getBytesRead());
+            assertTrue(multiplier.getComputeNanos() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("OutOfCoreMultiplier exception test")
+    public void testOutOfCoreMultiplierException(@TempDir Path directory) throws IOException {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new OutOfCoreMultiplier(8L));
+        assertEquals("Memory budget too small for out-of-core multiplication.", exception.getMessage());
+
+        OutOfCoreMultiplier multiplier = new OutOfCoreMultiplier(1L << 20);
+        try (MatrixFile a = MatrixFile.write(directory.resolve("a.matrix"), left)) {
+            exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                    multiplier.multiply(a, a, directory.resolve("c.matrix")));
+            assertEquals("Multiplication of matrices where the first matrix's column count isn't equal to the second's "
+                    + "row count.", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PackedSymmetricMatrixTest {
+    private Matrix matrix;
+
+    @BeforeEach
+    public void testSetup() {
+        matrix = Matrix.fromArray(new double[][] {
+                {4.0, 1.5, -2.0},
+                {1.5, 9.0, 0.5},
+                {-2.0, 0.5, 16.0}});
+    }
+
+    @Test
+    @DisplayName("PackedSymmetricMatrix::fromLowerTriangle test")
+    public void testFromLowerTriangle() {
+        PackedSymmetricMatrix packed = PackedSymmetricMatrix.fromLowerTriangle(matrix);
+
+        assertEquals(3, packed.getSize());
+        assertEquals(6, packed.values().length);
+        assertEquals(0.5, packed.get(1, 2), 0.0, "PackedSymmetricMatrix::get produced wrong result.\n");
+        assertEquals(0.5, packed.get(2, 1), 0.0, "PackedSymmetricMatrix::get produced wrong result.\n");
+        assertEquals(matrix, packed.toMatrix(), "PackedSymmetricMatrix::toMatrix produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("PackedSymmetricMatrix::equals test")
+    public void testEquals() {
+        PackedSymmetricMatrix packed = PackedSymmetricMatrix.fromLowerTriangle(matrix);
+        PackedSymmetricMatrix close = new PackedSymmetricMatrix(3, new double[] {4.000001, 1.5, 9.0, -2.0, 0.5, 16.0});
+        PackedSymmetricMatrix far = new PackedSymmetricMatrix(3, new double[] {4.001, 1.5, 9.0, -2.0, 0.5, 16.0});
+
+        assertEquals(packed, close, "PackedSymmetricMatrix::equals produced wrong result.\n");
+        assertEquals(packed.hashCode(), close.hashCode(), "PackedSymmetricMatrix::hashCode produced wrong result.\n");
+        assertNotEquals(packed, far, "PackedSymmetricMatrix::equals produced wrong result.\n");
+        assertNotEquals(packed, new PackedSymmetricMatrix(2, new double[] {4.0, 1.5, 9.0}),
+                "PackedSymmetricMatrix::equals produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("PackedSymmetricMatrix exception test")
+    public void testPackedSymmetricMatrixException() {
+        Matrix m = Matrix.fromArray(new double[][] {{1.0, 2.0}});
+
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                PackedSymmetricMatrix.fromLowerTriangle(m));
+        assertEquals("Packing of non-square or empty matrix.", exception.getMessage());
+        exception = assertThrows(IndexOutOfBoundsException.class, () ->
+                PackedSymmetricMatrix.fromLowerTriangle(matrix).get(3, 0));
+        assertEquals("Element outside of the matrix.", exception.getMessage());
+    }
+}
@@ -0,0 +1,103 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class QRDecompositionTest {
+    private Matrix matrix;
+
+    @BeforeEach
+    public void testSetup() {
+        double[][] values = {
+                {2.0, -1.0, 0.5, 3.0, 1.0},
+                {1.0, 4.0, -2.0, 0.0, 2.5},
+                {0.0, 1.5, 3.0, -1.0, 0.0},
+                {-3.0, 0.0, 1.0, 2.0, -1.5},
+                {1.0, 2.0, 2.0, 1.0, 1.0},
+                {0.5, -0.5, 4.0, 0.0, 3.0},
+                {2.0, 1.0, -1.0, 5.0, 0.5},
+                {0.0, 3.0, 1.0, -2.0, 2.0}
+        };
+        matrix = Matrix.fromArray(values);
+    }
+
+    @Test
+    @DisplayName("QRDecomposition exception test")
+    public void testQRDecompositionException() {
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, () ->
+                matrix.transpose().qrDecomposition());
+        assertEquals("QR decomposition of empty matrix or matrix with fewer rows than columns.",
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("QRDecomposition::getQ and getR blocked test")
+    public void testBlockedDecomposition() {
+        QRDecomposition qr = new QRDecomposition(matrix.toArray(), 2);
+        Matrix q = qr.getQ();
+        Matrix r = qr.getR();
+        double[][] rValues = r.toArray();
+        for (int i = 0; i < rValues.length; ++i) {
+            for (int j = 0; j < i; ++j) {
+                assertEquals(0.0, rValues[i][j], "QRDecomposition::getR should be upper triangular.\n");
+            }
+        }
+
+        assertEquals(matrix, q.multiplyMatrix(r), "QRDecomposition produced wrong result.\n");
+        assertEquals(Matrix.fromArray(DenseKernels.identity(5)), q.transpose().multiplyMatrix(q),
+                "QRDecomposition::getQ should have orthonormal columns.\n");
+        assertEquals(r, new QRDecomposition(matrix).getR(), "Blocked and unblocked QRDecomposition should match.\n");
+    }
+
+    @Test
+    @DisplayName("Matrix::solveLeastSquares test")
+    public void testSolveLeastSquares() {
+        Vector b = new Vector();
+        b.add(1.0);
+        b.add(0.0);
+        b.add(-2.0);
+        b.add(3.0);
+        b.add(0.5);
+        b.add(1.0);
+        b.add(-1.0);
+        b.add(2.0);
+        Matrix transpose = matrix.transpose();
+        Matrix bColumn = new Matrix();
+        for (Double value : b.getValues()) {
+            Vector row = new Vector();
+            row.add(value);
+            bColumn.add(row);
+        }
+        Matrix normalEquations = transpose.multiplyMatrix(matrix).inverse().multiplyMatrix(transpose)
+                .multiplyMatrix(bColumn);
+
+        assertEquals(Vector.fromArray(normalEquations.transpose().toArray()[0]), matrix.solveLeastSquares(b),
+                "Matrix::solveLeastSquares produced wrong result.\n");
+        assertEquals(normalEquations, matrix.qrDecomposition().solveLeastSquares(bColumn),
+                "QRDecomposition::solveLeastSquares produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("QRDecomposition::solveLeastSquares exception test")
+    public void testSolveLeastSquaresException() {
+        Vector v = new Vector();
+        v.add(1.0);
+        v.add(2.0);
+        Matrix m = new Matrix();
+        m.add(v);
+        m.add(v);
+        m.add(v);
+        Vector b = new Vector();
+        b.add(1.0);
+        b.add(1.0);
+        b.add(1.0);
+
+        Exception exception = assertThrows(MatrixOperationException.class, () ->
+                m.solveLeastSquares(b));
+        assertEquals("Least squares with rank deficient matrix.", exception.getMessage());
+    }
+}
@@ -0,0 +1,164 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RandomizedSvdTest {
+    private static final int ROW_COUNT = 120;
+    private static final int COLUMN_COUNT = 80;
+
+    private Random random;
+
+    @BeforeEach
+    public void testSetup() {
+        random = new Random(17);
+    }
+
+    @Test
+    @DisplayName("RandomizedSvd::decompose low-rank matrix test")
+    public void testLowRank() {
+        double[] spectrum = {50.0, 20.0, 10.0, 5.0, 1.0};
+        Matrix m = withSpectrum(spectrum);
+        RandomizedSvd svd = m.randomizedSvd(5, 0);
+
+        assertEquals(5, svd.getRank());
+        double[] singularValues = svd.getSingularValues().toArray();
+        for (int i = 0; i < spectrum.length; ++i) {
+            assertEquals(spectrum[i], singularValues[i], 1e-9, "RandomizedSvd produced wrong singular values.\n");
+        }
+        assertClose(m.toArray(), svd.getApproximation().toArray(), 1e-9, "RandomizedSvd produced wrong factors.\n");
+        assertClose(DenseKernels.identity(5), svd.getU().transposeMultiplySelf().toArray(), 1e-12,
+                "RandomizedSvd should produce orthonormal left singular vectors.\n");
+        assertClose(DenseKernels.identity(5), svd.getV().transposeMultiplySelf().toArray(), 1e-12,
+                "RandomizedSvd should produce orthonormal right singular vectors.\n");
+    }
+
+    @Test
+    @DisplayName("RandomizedSvd power iteration test")
+    public void testPowerIterations() {
+        double[] spectrum = new double[COLUMN_COUNT];
+        for (int i = 0; i < spectrum.length; ++i) {
+            spectrum[i] = 1.0 / (1.0 + i);
+        }
+        Matrix m = withSpectrum(spectrum);
+
+        double previousError = Double.MAX_VALUE;
+        for (int powerIterations = 0; powerIterations <= 2; ++powerIterations) {
+            RandomizedSvd svd = m.randomizedSvd(4, powerIterations);
+            double error = m.subtractMatrix(svd.getApproximation()).frobeniusNorm();
+            assertTrue(error < previousError, "Power iterations should improve the approximation.\n");
+            previousError = error;
+        }
+        double optimal = 0.0;
+        for (int i = 4; i < spectrum.length; ++i) {
+            optimal += spectrum[i] * spectrum[i];
+        }
+        assertTrue(previousError < 1.01 * Math.sqrt(optimal),
+                "RandomizedSvd with power iterations should be close to the optimal approximation.\n");
+    }
+
+    @Test
+    @DisplayName("RandomizedSvd small singular values test")
+    public void testSmallSingularValues() {
+        double[] spectrum = {1.0, 1e-3, 1e-6, 1e-9, 1e-12, 1e-12, 1e-12, 1e-12};
+        Matrix m = withSpectrum(spectrum);
+
+        for (int powerIterations = 1; powerIterations <= 2; ++powerIterations) {
+            double[] singularValues = m.randomizedSvd(4, powerIterations).getSingularValues().toArray();
+            for (int i = 0; i < 4; ++i) {  // 1e-9 is well below sqrt(eps) times the largest singular value.
+                assertEquals(spectrum[i], singularValues[i], 1e-3 * spectrum[i],
+                        "RandomizedSvd produced wrong small singular values.\n");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("RandomizedSvd streaming test")
+    public void testStreaming(@TempDir Path directory) throws IOException {
+        Matrix m = withSpectrum(new double[] {9.0, 7.0, 3.0, 0.5, 0.25, 0.125});
+        double[][] a = m.toArray();
+        AtomicInteger passes = new AtomicInteger();
+        RandomizedSvd.RowSource<RuntimeException> source = (firstRow, count) -> {
+            if (firstRow == 0) {
+                passes.incrementAndGet();
+            }
+            return Arrays.copyOfRange(a, firstRow, firstRow + count);
+        };
+
+        RandomizedSvd blocked = RandomizedSvd.decompose(source, ROW_COUNT, COLUMN_COUNT, 3, 2,
+                RandomizedSvd.DEFAULT_OVERSAMPLING, RandomizedSvd.DEFAULT_SEED, 7);
+        RandomizedSvd whole = m.randomizedSvd(3, 2);
+        assertEquals(6, passes.get(), "RandomizedSvd should read the matrix 2 + 2 * powerIterations times.\n");
+        assertClose(whole.getApproximation().toArray(), blocked.getApproximation().toArray(), 1e-9,
+                "RandomizedSvd produced different results for different block sizes.\n");
+
+        try (MatrixFile file = MatrixFile.write(directory.resolve("a.mat"), m)) {
+            RandomizedSvd streamed = RandomizedSvd.decompose(file, 3, 2);
+            assertClose(whole.getApproximation().toArray(), streamed.getApproximation().toArray(), 1e-9,
+                    "RandomizedSvd produced different results for a matrix file.\n");
+        }
+    }
+
+    @Test
+    @DisplayName("RandomizedSvd exception test")
+    public void testRandomizedSvdException() {
+        Matrix m = Matrix.fromArray(new double[][] {{1.0, 2.0, 3.0}, {4.0, 5.0, 6.0}});
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> m.randomizedSvd(3, 0));
+        assertEquals("Randomized SVD rank out of range.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> m.randomizedSvd(1, -1));
+        assertEquals("Negative number of power iterations or oversampling.", exception.getMessage());
+        exception = assertThrows(MatrixSizeMismatchException.class, () -> new Matrix().randomizedSvd(1, 0));
+        assertEquals("Randomized SVD of empty matrix.", exception.getMessage());
+    }
+
+    /**
+     * Builds U * S * VT from random orthonormal U and V and the given singular values.
+     */
+    private Matrix withSpectrum(double[] spectrum) {
+        double[][] u = orthonormal(ROW_COUNT, spectrum.length);
+        double[][] v = orthonormal(COLUMN_COUNT, spectrum.length);
+        double[][] result = new double[ROW_COUNT][COLUMN_COUNT];
+        for (int i = 0; i < ROW_COUNT; ++i) {
+            for (int j = 0; j < COLUMN_COUNT; ++j) {
+                for (int k = 0; k < spectrum.length; ++k) {
+                    result[i][j] += u[i][k] * spectrum[k] * v[j][k];
+                }
+            }
+        }
+
+        return Matrix.fromArray(result);
+    }
+
+    private double[][] orthonormal(int rowCount, int columnCount) {
+        double[][] a = new double[rowCount][columnCount];
+        for (double[] row : a) {
+            for (int j = 0; j < columnCount; ++j) {
+                row[j] = random.nextGaussian();
+            }
+        }
+
+        return new QRDecomposition(Matrix.fromArray(a)).getQ().toArray();
+    }
+
+    private static void assertClose(double[][] expected, double[][] actual, double delta, String message) {
+        assertEquals(expected.length, actual.length, message);
+        for (int i = 0; i < expected.length; ++i) {
+            for (int j = 0; j < expected[i].length; ++j) {
+                assertEquals(expected[i][j], actual[i][j], delta, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SparseVectorTest {
+    private SparseVector sparse1;
+    private SparseVector sparse2;
+    private Vector dense;
+
+    @BeforeEach
+    public void testSetup() {
+        sparse1 = new SparseVector(8, new int[] {6, 1, 3}, new double[] {-2.0, 4.0, 0.5});
+        sparse2 = new SparseVector(8, new int[] {0, 3, 6, 7}, new double[] {1.0, 2.0, 3.0, -1.0});
+        dense = Vector.fromArray(new double[] {1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0});
+    }
+
+    @Test
+    @DisplayName("SparseVector constructor test")
+    public void testConstructor() {
+        assertEquals(8, sparse1.getSize());
+        assertEquals(3, sparse1.getNonZeroCount());
+        assertArrayEquals(new int[] {1, 3, 6}, sparse1.getIndices(), "SparseVector should sort its indices.\n");
+        assertArrayEquals(new double[] {4.0, 0.5, -2.0}, sparse1.getValues(), 0.0,
+                "SparseVector should sort its values with the indices.\n");
+        assertEquals(4.0, sparse1.get(1), 0.0, "SparseVector::get produced wrong result.\n");
+        assertEquals(0.0, sparse1.get(2), 0.0, "SparseVector::get produced wrong result.\n");
+        assertEquals(new SparseVector(8), sparse1.scalarProduct(0.0),
+                "SparseVector::equals should ignore stored zeros.\n");
+
+        int count = 200000;  // Reversed, the worst case of an O(nnz^2) sort.
+        int[] indices = new int[count];
+        double[] values = new double[count];
+        for (int i = 0; i < count; ++i) {
+            indices[i] = 2 * (count - 1 - i);
+            values[i] = count - 1 - i;
+        }
+        SparseVector reversed = new SparseVector(2 * count, indices, values);
+        int[] sortedIndices = reversed.getIndices();
+        double[] sortedValues = reversed.getValues();
+        for (int i = 0; i < count; ++i) {
+            assertEquals(2 * i, sortedIndices[i], "SparseVector should sort its indices.\n");
+            assertEquals(i, sortedValues[i], 0.0, "SparseVector should sort its values with the indices.\n");
+        }
+    }
+
+    @Test
+    @DisplayName("SparseVector::toDense and SparseVector::fromDense test")
+    public void testDenseConversion() {
+        Vector expected = Vector.fromArray(new double[] {0.0, 4.0, 0.0, 0.5, 0.0, 0.0, -2.0, 0.0});
+
+        assertEquals(expected, sparse1.toDense(), "SparseVector::toDense produced wrong result.\n");
+        assertEquals(sparse1, SparseVector.fromDense(expected), "SparseVector::fromDense produced wrong result.\n");
+        assertEquals(3, SparseVector.fromDense(expected).getNonZeroCount());
+    }
+
+    @Test
+    @DisplayName("SparseVector::scatter and SparseVector::gather test")
+    public void testScatterGather() {
+        Vector expected = Vector.fromArray(new double[] {1.0, 4.0, 3.0, 0.5, 5.0, 6.0, -2.0, 8.0});
+
+        assertEquals(expected, sparse1.scatter(dense), "SparseVector::scatter produced wrong result.\n");
+        assertEquals(new SparseVector(8, new int[] {1, 3, 6}, new double[] {2.0, 4.0, 7.0}), sparse1.gather(dense),
+                "SparseVector::gather produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("SparseVector::dotProduct test")
+    public void testDotProduct() {
+        assertEquals(1.0 - 6.0, sparse1.dotProduct(sparse2), 0.0, "SparseVector::dotProduct produced wrong result.\n");
+        assertEquals(8.0 + 2.0 - 14.0, sparse1.dotProduct(dense), 0.0,
+                "SparseVector::dotProduct produced wrong result.\n");
+        assertEquals(sparse1.toDense().dotProduct(dense), dense.dotProduct(sparse1), 0.0,
+                "Vector::dotProduct produced wrong result with a sparse vector.\n");
+    }
+
+    @Test
+    @DisplayName("SparseVector::addVector and SparseVector::axpy test")
+    public void testAddVector() {
+        assertEquals(sparse1.toDense().addVector(sparse2.toDense()), sparse1.addVector(sparse2).toDense(),
+                "SparseVector::addVector produced wrong result.\n");
+        assertEquals(5, sparse1.addVector(sparse2).getNonZeroCount());
+        assertEquals(sparse1.toDense().addVector(dense), sparse1.addVector(dense),
+                "SparseVector::addVector produced wrong result.\n");
+        assertEquals(sparse1.toDense().addVector(dense), dense.addVector(sparse1),
+                "Vector::addVector produced wrong result with a sparse vector.\n");
+
+        Vector expected = sparse1.toDense().scalarProduct(-3.0).addVector(sparse2.toDense());
+        assertEquals(expected, sparse1.axpy(-3.0, sparse2).toDense(), "SparseVector::axpy produced wrong result.\n");
+
+        Vector y = new Vector(dense);
+        sparse1.axpy(-3.0, y);
+        assertEquals(sparse1.toDense().scalarProduct(-3.0).addVector(dense), y,
+                "SparseVector::axpy produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Matrix::getSparseRow and Matrix::getSparseColumn test")
+    public void testMatrixSparseRowColumn() {
+        Matrix m = Matrix.fromArray(new double[][] {
+                {0.0, 2.0, 0.0},
+                {0.0, 0.0, 0.0},
+                {5.0, 0.0, -1.0}});
+
+        assertEquals(new SparseVector(3, new int[] {1}, new double[] {2.0}), m.getSparseRow(0),
+                "Matrix::getSparseRow produced wrong result.\n");
+        assertEquals(0, m.getSparseRow(1).getNonZeroCount());
+        assertEquals(new SparseVector(3, new int[] {2}, new double[] {-1.0}), m.getSparseColumn(2),
+                "Matrix::getSparseColumn produced wrong result.\n");
+        assertThrows(IndexOutOfBoundsException.class, () -> m.getSparseColumn(3));
+    }
+
+    @Test
+    @DisplayName("SparseVector exception test")
+    public void testSparseVectorException() {
+        Exception exception = assertThrows(VectorSizeMismatchException.class, () ->
+                new SparseVector(4, new int[] {0, 1}, new double[] {1.0}));
+        assertEquals("Sparse vector with different number of indices and values.", exception.getMessage());
+        exception = assertThrows(IndexOutOfBoundsException.class, () ->
+                new SparseVector(4, new int[] {4}, new double[] {1.0}));
+        assertEquals("Index outside of the sparse vector.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () ->
+                new SparseVector(4, new int[] {2, 2}, new double[] {1.0, 2.0}));
+        assertEquals("Duplicate index in sparse vector.", exception.getMessage());
+        exception = assertThrows(VectorSizeMismatchException.class, () -> sparse1.dotProduct(new SparseVector(7)));
+        assertEquals("Dot product of different sized vectors.", exception.getMessage());
+        exception = assertThrows(VectorSizeMismatchException.class, () -> sparse1.addVector(new Vector()));
+        assertEquals("Addition of different sized vectors.", exception.getMessage());
+    }
+}
@@ -0,0 +1,208 @@
+package com.szhorvath;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class SymmetricEigenDecompositionTest {
+    private Random random;
+
+    @BeforeEach
+    public void testSetup() {
+        random = new Random(23);
+    }
+
+    @Test
+    @DisplayName("SymmetricEigenDecomposition small matrix test")
+    public void testSmall() {
+        Matrix m = Matrix.fromArray(new double[][] {{2.0, 1.0, 0.0}, {1.0, 2.0, 1.0}, {0.0, 1.0, 2.0}});
+        SymmetricEigenDecomposition eigen = m.eigenDecomposition();
+
+        assertEquals(Vector.fromArray(new double[] {2.0 + Math.sqrt(2.0), 2.0, 2.0 - Math.sqrt(2.0)}),
+                eigen.getEigenvalues(), "SymmetricEigenDecomposition produced wrong eigenvalues.\n");
+        assertEigenpairs(m.toArray(), eigen);
+        assertEquals(Vector.fromArray(new double[] {5.0}),
+                Matrix.fromArray(new double[][] {{5.0}}).eigenDecomposition().getEigenvalues(),
+                "SymmetricEigenDecomposition produced wrong eigenvalues.\n");
+    }
+
+    @Test
+    @DisplayName("SymmetricEigenDecomposition full decomposition test")
+    public void testFull() {
+        double[][] a = randomSymmetric(60);
+        SymmetricEigenDecomposition eigen = Matrix.fromArray(a).eigenDecomposition();
+
+        assertEquals(60, eigen.getCount());
+        double[] values = eigen.getEigenvalues().toArray();
+        double trace = 0.0;
+        double sum = 0.0;
+        for (int i = 0; i < 60; ++i) {
+            trace += a[i][i];
+            sum += values[i];
+            if (i > 0) {
+                assertTrue(values[i - 1] >= values[i], "Eigenvalues should be in decreasing order.\n");
+            }
+        }
+        assertEquals(trace, sum, 1e-10, "The eigenvalues should sum to the trace.\n");
+        assertEigenpairs(a, eigen);
+    }
+
+    @Test
+    @DisplayName("SymmetricEigenDecomposition largest eigenpairs test")
+    public void testLargest() {
+        double[][] a = randomSymmetric(80);
+        SymmetricEigenDecomposition full = Matrix.fromArray(a).eigenDecomposition();
+        SymmetricEigenDecomposition largest = Matrix.fromArray(a).eigenDecomposition(5);
+
+        assertEquals(5, largest.getCount());
+        double[] expected = full.getEigenvalues().toArray();
+        double[] actual = largest.getEigenvalues().toArray();
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(expected[i], actual[i], 1e-10, "SymmetricEigenDecomposition produced wrong eigenvalues.\n");
+        }
+        assertEigenpairs(a, largest);
+    }
+
+    @Test
+    @DisplayName("SymmetricEigenDecomposition repeated eigenvalues test")
+    public void testRepeated() {
+        int n = 40;
+        double[] spectrum = new double[n];
+        for (int i = 0; i < n; ++i) {
+            spectrum[i] = i < 4 ? 3.0 : 1.0 + i * 1e-3;
+        }
+        double[][] g = new double[n][n];
+        for (double[] row : g) {
+            for (int j = 0; j < n; ++j) {
+                row[j] = random.nextGaussian();
+            }
+        }
+        double[][] q = new QRDecomposition(Matrix.fromArray(g)).getQ().toArray();
+        double[][] a = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                for (int k = 0; k < n; ++k) {
+                    a[i][j] += q[i][k] * spectrum[k] * q[j][k];
+                }
+            }
+        }
+        SymmetricEigenDecomposition eigen = Matrix.fromArray(a).eigenDecomposition(6);
+
+        double[] values = eigen.getEigenvalues().toArray();
+        for (int i = 0; i < 4; ++i) {
+            assertEquals(3.0, values[i], 1e-12, "SymmetricEigenDecomposition produced wrong eigenvalues.\n");
+        }
+        assertEigenpairs(a, eigen);
+    }
+
+    @Test
+    @DisplayName("SymmetricEigenDecomposition zero and rank-deficient matrix test")
+    public void testRankDeficient() {
+        for (double scale : new double[] {1.0, 1e-300, 0.0}) {
+            double[][] a = new double[8][8];
+            for (int i = 0; i < 8; ++i) {
+                a[i][i] = (i % 2) * scale;
+            }
+            for (int count = 1; count <= 2; ++count) {
+                SymmetricEigenDecomposition eigen = Matrix.fromArray(a).eigenDecomposition(count);
+
+                double[] values = eigen.getEigenvalues().toArray();
+                for (int k = 0; k < count; ++k) {
+                    assertEquals(scale, values[k], 0.0, "SymmetricEigenDecomposition produced wrong eigenvalues.\n");
+                    for (double element : eigen.getEigenvector(k).toArray()) {
+                        assertTrue(Double.isFinite(element), "SymmetricEigenDecomposition produced NaN eigenvector.\n");
+                    }
+                }
+                assertEigenpairs(a, eigen);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("SymmetricEigenDecomposition parallel test")
+    public void testParallel() {
+        Matrix m = Matrix.fromArray(randomSymmetric(50));
+        SymmetricEigenDecomposition sequential = m.eigenDecomposition();
+        KernelParameters previous = KernelParameters.current();
+        try {
+            KernelParameters.setCurrent(new KernelParameters(previous.getMultiplyBlockSize(), 0,
+                    previous.getQrBlockSize()));
+            SymmetricEigenDecomposition parallel = m.eigenDecomposition();
+
+            assertArrayEquals(sequential.getEigenvalues().toArray(), parallel.getEigenvalues().toArray(),
+                    "Parallel SymmetricEigenDecomposition should match the sequential one exactly.\n");
+            assertArrayEquals(sequential.getEigenvectors().toArray(), parallel.getEigenvectors().toArray(),
+                    "Parallel SymmetricEigenDecomposition should match the sequential one exactly.\n");
+        } finally {
+            KernelParameters.setCurrent(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("SymmetricEigenDecomposition exception test")
+    public void testSymmetricEigenDecompositionException() {
+        Matrix m = Matrix.fromArray(new double[][] {{1.0, 2.0}});
+
+        Exception exception = assertThrows(MatrixSizeMismatchException.class, m::eigenDecomposition);
+        assertEquals("Eigen decomposition of non-square or empty matrix.", exception.getMessage());
+        exception = assertThrows(MatrixSizeMismatchException.class, () -> new Matrix().eigenDecomposition());
+        assertEquals("Eigen decomposition of non-square or empty matrix.", exception.getMessage());
+        Matrix square = Matrix.fromArray(new double[][] {{1.0, 2.0}, {2.0, 1.0}});
+        exception = assertThrows(IllegalArgumentException.class, () -> square.eigenDecomposition(3));
+        assertEquals("Eigenpair count out of range.", exception.getMessage());
+        exception = assertThrows(IndexOutOfBoundsException.class, () ->
+                square.eigenDecomposition(1).getEigenvector(1));
+        assertEquals("Eigenpair outside of the decomposition.", exception.getMessage());
+    }
+
+    /**
+     * Random symmetric matrix, with garbage in the upper triangle, which shouldn't be read.
+     */
+    private double[][] randomSymmetric(int n) {
+        double[][] a = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                a[i][j] = random.nextDouble() * 2.0 - 1.0;
+            }
+            for (int j = i + 1; j < n; ++j) {
+                a[i][j] = Double.NaN;
+            }
+        }
+
+        return a;
+    }
+
+    /**
+     * Checks A * v = lambda * v for every eigenpair, and that the eigenvectors are orthonormal.
+     */
+    private static void assertEigenpairs(double[][] a, SymmetricEigenDecomposition eigen) {
+        int n = a.length;
+        double[] values = eigen.getEigenvalues().toArray();
+        for (int k = 0; k < eigen.getCount(); ++k) {
+            double[] v = eigen.getEigenvector(k).toArray();
+            for (int i = 0; i < n; ++i) {
+                double sum = 0.0;
+                for (int j = 0; j < n; ++j) {
+                    sum += (j <= i ? a[i][j] : a[j][i]) * v[j];
+                }
+                assertEquals(values[k] * v[i], sum, 1e-9, "SymmetricEigenDecomposition produced wrong eigenpair.\n");
+            }
+            for (int l = 0; l <= k; ++l) {
+                double[] other = eigen.getEigenvector(l).toArray();
+                double dot = 0.0;
+                for (int i = 0; i < n; ++i) {
+                    dot += v[i] * other[i];
+                }
+                assertEquals(l == k ? 1.0 : 0.0, dot, 1e-9,
+                        "SymmetricEigenDecomposition should produce orthonormal eigenvectors.\n");
+            }
+        }
+    }
+}
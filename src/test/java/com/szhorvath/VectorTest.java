@@ -152,4 +152,83 @@ public class VectorTest {
 
         assertEquals(result, vector.dotProduct(v), 0.00001, "Vector::dotProduct produced wrong result.\n");
     }
+
+    @Test
+    @DisplayName("Vector::map test")
+    public void testMap() {
+        vector.add(1.0);
+        vector.add(-4.0);
+        vector.add(9.0);
+        Vector result = new Vector();
+        result.add(1.0);
+        result.add(4.0);
+        result.add(9.0);
+
+        assertEquals(result, vector.map(Math::abs), "Vector::map produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Vector::hadamardProduct exception test")
+    public void testHadamardProductException() {
+        vector.add(1.0);
+        Vector v = new Vector();
+
+        Exception exception = assertThrows(VectorSizeMismatchException.class, () ->
+                vector.hadamardProduct(v));
+        assertEquals("Hadamard product of different sized vectors.", exception.getMessage());
+        exception = assertThrows(VectorSizeMismatchException.class, () ->
+                vector.zip(v, Double::sum));
+        assertEquals("Element-wise operation on different sized vectors.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Vector::hadamardProduct test")
+    public void testHadamardProduct() {
+        vector.add(2.0);
+        vector.add(-3.0);
+        Vector v = new Vector();
+        v.add(0.5);
+        v.add(4.0);
+        Vector result = new Vector();
+        result.add(1.0);
+        result.add(-12.0);
+
+        assertEquals(result, vector.hadamardProduct(v), "Vector::hadamardProduct produced wrong result.\n");
+        assertEquals(vector.addVector(v), vector.zip(v, Double::sum), "Vector::zip produced wrong result.\n");
+    }
+
+    @Test
+    @DisplayName("Vector reductions test")
+    public void testReductions() {
+        vector.add(3.0);
+        vector.add(-4.0);
+        vector.add(12.0);
+
+        assertEquals(11.0, vector.sum(), 0.00001, "Vector::sum produced wrong result.\n");
+        assertEquals(-4.0, vector.min(), 0.00001, "Vector::min produced wrong result.\n");
+        assertEquals(12.0, vector.max(), 0.00001, "Vector::max produced wrong result.\n");
+        assertEquals(13.0, vector.norm(), 0.00001, "Vector::norm produced wrong result.\n");
+
+        Exception exception = assertThrows(VectorSizeMismatchException.class, () ->
+                new Vector().max());
+        assertEquals("Maximum of empty vector.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Vector::sum parallel test")
+    public void testSumParallel() {
+        for (int i = 0; i < 50000; ++i) {
+            vector.add(Math.sin(i) * Math.pow(10.0, i % 13 - 6));
+        }
+        KernelParameters previous = KernelParameters.current();
+        try {
+            KernelParameters.setCurrent(new KernelParameters(64, Long.MAX_VALUE, 32));
+            double sum = vector.sum();
+            KernelParameters.setCurrent(new KernelParameters(64, 0, 32));
+
+            assertEquals(sum, vector.sum(), 0.0, "Vector::sum should not depend on parallelism.\n");
+        } finally {
+            KernelParameters.setCurrent(previous);
+        }
+    }
 }